@@ -0,0 +1,169 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.encoding.Attribute;
+import com.hp.jipp.encoding.AttributeGroup;
+import com.hp.jipp.encoding.AttributeType;
+import com.hp.jipp.encoding.IppInputStream;
+import com.hp.jipp.encoding.IppOutputStream;
+import com.hp.jipp.encoding.IppPacket;
+import com.hp.jipp.encoding.MutableAttributeGroup;
+import com.hp.jipp.encoding.Tag;
+import com.hp.jipp.encoding.UntypedCollection;
+import com.hp.jipp.model.Status;
+import com.hp.jipp.model.Types;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static com.hp.jipp.encoding.AttributeGroup.groupOf;
+import static com.hp.jipp.encoding.AttributeGroup.mutableGroupOf;
+
+/** Measures access to, construction of, and printing of the attribute groups in the printer capture corpus. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AttributeGroupBenchmark {
+    /** Attributes commonly requested by clients, including some which are not present in all captures. */
+    private static final List<AttributeType<?>> TYPES = Arrays.<AttributeType<?>>asList(
+            Types.printerName,
+            Types.printerMakeAndModel,
+            Types.printerStateReasons,
+            Types.printerUriSupported,
+            Types.ippVersionsSupported,
+            Types.operationsSupported,
+            Types.documentFormatSupported,
+            Types.copiesSupported,
+            Types.sidesSupported,
+            Types.mediaSupported,
+            Types.mediaColDatabase,
+            Types.mediaColReady,
+            Types.printerResolutionSupported,
+            Types.pwgRasterDocumentResolutionSupported,
+            Types.jobCreationAttributesSupported,
+            Types.finishingsColDatabase);
+
+    private Corpus corpus;
+    private final List<AttributeGroup> groups = new ArrayList<>();
+    private final List<AttributeGroup> cachingGroups = new ArrayList<>();
+    /** A group holding every media-col-ready collection in the corpus as a single media-col-database. */
+    private AttributeGroup mediaColDatabase;
+    private AttributeGroup cachedMediaColDatabase;
+
+    @Setup
+    public void setup() throws IOException {
+        corpus = Corpus.load();
+        for (IppPacket packet : corpus.packets) {
+            groups.addAll(packet.getAttributeGroups());
+            cachingGroups.addAll(packet.withCoercionCache().getAttributeGroups());
+        }
+
+        // No capture includes media-col-database, so assemble one from the media-col-ready values, as parsed
+        List<UntypedCollection> mediaCols = new ArrayList<>();
+        for (AttributeGroup group : groups) {
+            mediaCols.addAll(group.getValues(new UntypedCollection.SetType(Types.mediaColReady.getName())));
+        }
+        IppPacket packet = new IppPacket(Status.successfulOk, 1, groupOf(Tag.printerAttributes,
+                new UntypedCollection.SetType(Types.mediaColDatabase.getName()).of(mediaCols)));
+        mediaColDatabase = new IppInputStream(new ByteArrayInputStream(IppOutputStream.toByteArray(packet)))
+                .readPacket().get(Tag.printerAttributes);
+        cachedMediaColDatabase = mediaColDatabase.withCoercionCache();
+    }
+
+    @Benchmark
+    public void getByName(Blackhole blackhole) {
+        for (AttributeGroup group : groups) {
+            for (AttributeType<?> type : TYPES) {
+                blackhole.consume(group.get(type.getName()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void getByType(Blackhole blackhole) {
+        for (AttributeGroup group : groups) {
+            for (AttributeType<?> type : TYPES) {
+                blackhole.consume(group.get(type));
+            }
+        }
+    }
+
+    @Benchmark
+    public void getByTypeCached(Blackhole blackhole) {
+        for (AttributeGroup group : cachingGroups) {
+            for (AttributeType<?> type : TYPES) {
+                blackhole.consume(group.get(type));
+            }
+        }
+    }
+
+    @Benchmark
+    public void getMediaColDatabase(Blackhole blackhole) {
+        blackhole.consume(mediaColDatabase.get(Types.mediaColDatabase));
+    }
+
+    @Benchmark
+    public void getMediaColDatabaseCached(Blackhole blackhole) {
+        blackhole.consume(cachedMediaColDatabase.get(Types.mediaColDatabase));
+    }
+
+    @Benchmark
+    public void getEveryAttributeByName(Blackhole blackhole) {
+        for (AttributeGroup group : groups) {
+            for (Attribute<?> attribute : group) {
+                blackhole.consume(group.get(attribute.getName()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void coerceValues(Blackhole blackhole) {
+        for (AttributeGroup group : groups) {
+            for (AttributeType<?> type : TYPES) {
+                for (Object value : group.getValues(type)) {
+                    blackhole.consume(value);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void buildMutableGroup(Blackhole blackhole) {
+        for (AttributeGroup group : groups) {
+            MutableAttributeGroup mutable = mutableGroupOf(group.getTag());
+            for (Attribute<?> attribute : group) {
+                mutable.put(attribute);
+            }
+            for (int i = 0; i < mutable.size(); i++) {
+                blackhole.consume(mutable.get(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void prettyPrint(Blackhole blackhole) {
+        for (IppPacket packet : corpus.packets) {
+            blackhole.consume(packet.prettyPrint(120, "  "));
+        }
+    }
+
+    @Benchmark
+    public void packetToString(Blackhole blackhole) {
+        for (IppPacket packet : corpus.packets) {
+            blackhole.consume(packet.toString());
+        }
+    }
+}
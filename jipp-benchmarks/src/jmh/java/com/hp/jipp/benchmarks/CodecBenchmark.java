@@ -0,0 +1,71 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.encoding.IppInputStream;
+import com.hp.jipp.encoding.IppOutputStream;
+import com.hp.jipp.encoding.IppPacket;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures reading and writing of every packet in the printer capture corpus. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodecBenchmark {
+    private Corpus corpus;
+
+    @Setup
+    public void setup() throws IOException {
+        corpus = Corpus.load();
+    }
+
+    @Benchmark
+    public void readPacket(Blackhole blackhole) throws IOException {
+        for (byte[] bytes : corpus.encoded) {
+            blackhole.consume(new IppInputStream(new ByteArrayInputStream(bytes)).readPacket());
+        }
+    }
+
+    @Benchmark
+    public void readPacketFromBuffer(Blackhole blackhole) throws IOException {
+        for (byte[] bytes : corpus.encoded) {
+            blackhole.consume(new IppInputStream(ByteBuffer.wrap(bytes)).readPacket());
+        }
+    }
+
+    @Benchmark
+    public void readLazyPacket(Blackhole blackhole) throws IOException {
+        for (byte[] bytes : corpus.encoded) {
+            blackhole.consume(new IppInputStream(ByteBuffer.wrap(bytes)).readLazyPacket());
+        }
+    }
+
+    @Benchmark
+    public void write(Blackhole blackhole) throws IOException {
+        for (IppPacket packet : corpus.packets) {
+            ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+            new IppOutputStream(bytesOut).write(packet);
+            blackhole.consume(bytesOut.toByteArray());
+        }
+    }
+
+    @Benchmark
+    public void writeToByteArray(Blackhole blackhole) {
+        for (IppPacket packet : corpus.packets) {
+            blackhole.consume(IppOutputStream.toByteArray(packet));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.encoding.Attribute;
+import com.hp.jipp.encoding.AttributeGroup;
+import com.hp.jipp.encoding.Codec;
+import com.hp.jipp.encoding.IppPacket;
+import com.hp.jipp.encoding.IppStreams;
+import com.hp.jipp.encoding.Tag;
+import com.hp.jipp.encoding.ValueTag;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares codec lookup by table and memoized map against a linear search of all codecs, for every value tag
+ * read and every value class written when handling the printer capture corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodecDispatchBenchmark {
+    /** Bytes preceding the first tag: version, operation or status code, and request ID. */
+    private static final int HEADER_LENGTH = 8;
+    private static final int END_OF_ATTRIBUTES = 0x03;
+    private static final int FIRST_VALUE_TAG = 0x10;
+
+    private IppStreams streams;
+    private List<Codec<?>> codecs;
+    /** Value tag of each attribute value and collection member, in the order read. */
+    private final List<ValueTag> tags = new ArrayList<>();
+    /** Class of each top-level attribute value, in the order written. */
+    private final List<Class<?>> classes = new ArrayList<>();
+
+    @Setup
+    public void setup() throws IOException {
+        Corpus corpus = Corpus.load();
+        // IppStreams is internal to jipp-core, but remains accessible from Java
+        streams = IppStreams.INSTANCE;
+        codecs = new ArrayList<>(streams.getCodecs());
+        for (byte[] bytes : corpus.encoded) {
+            addTags(bytes);
+        }
+        for (IppPacket packet : corpus.packets) {
+            for (AttributeGroup group : packet.getAttributeGroups()) {
+                for (Attribute<?> attribute : group) {
+                    for (Object value : attribute) {
+                        classes.add(value.getClass());
+                    }
+                }
+            }
+        }
+    }
+
+    /** Add the tag of each value encoded in {@code bytes}, including collection delimiters and members. */
+    private void addTags(byte[] bytes) {
+        int offset = HEADER_LENGTH;
+        while (offset < bytes.length) {
+            int code = bytes[offset++] & 0xFF;
+            if (code == END_OF_ATTRIBUTES) return;
+            if (code < FIRST_VALUE_TAG) continue;
+            Tag tag = Tag.fromInt(code);
+            if (tag instanceof ValueTag) {
+                tags.add((ValueTag) tag);
+            }
+            offset += 2 + readShort(bytes, offset);
+            offset += 2 + readShort(bytes, offset);
+        }
+    }
+
+    private static int readShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    @Benchmark
+    public void tagTable(Blackhole blackhole) {
+        for (ValueTag tag : tags) {
+            blackhole.consume(streams.codecOf(tag));
+        }
+    }
+
+    @Benchmark
+    public void tagLinear(Blackhole blackhole) {
+        for (ValueTag tag : tags) {
+            Codec<?> found = null;
+            for (Codec<?> codec : codecs) {
+                if (codec.handlesTag(tag)) {
+                    found = codec;
+                    break;
+                }
+            }
+            blackhole.consume(found);
+        }
+    }
+
+    @Benchmark
+    public void classMemoized(Blackhole blackhole) {
+        for (Class<?> cls : classes) {
+            blackhole.consume(streams.codecOf(cls));
+        }
+    }
+
+    @Benchmark
+    public void classLinear(Blackhole blackhole) {
+        for (Class<?> cls : classes) {
+            Codec<?> found = null;
+            for (Codec<?> codec : codecs) {
+                if (codec.getCls().isAssignableFrom(cls)) {
+                    found = codec;
+                    break;
+                }
+            }
+            blackhole.consume(found);
+        }
+    }
+}
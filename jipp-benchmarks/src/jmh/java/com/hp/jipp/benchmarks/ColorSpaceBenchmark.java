@@ -0,0 +1,23 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.pdl.ColorSpace;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/** Measures conversion of a page to the other color space (Rgb to Grayscale or back), in pages per second. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ColorSpaceBenchmark {
+    @Benchmark
+    public void convert(final PageState state) throws Exception {
+        final ColorSpace target = state.colorSpace == ColorSpace.Rgb ? ColorSpace.Grayscale : ColorSpace.Rgb;
+        state.forEachSwath(swath -> state.colorSpace.convert(new ByteArrayInputStream(swath), PageState.SINK, target));
+    }
+}
@@ -0,0 +1,72 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.encoding.IppInputStream;
+import com.hp.jipp.encoding.IppPacket;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Real IPP packets captured from printers, used as benchmark input. */
+final class Corpus {
+    /** System property giving the location of the printer captures. */
+    private static final String CORPUS_PROPERTY = "jipp.corpus";
+    private static final String DEFAULT_CORPUS = "../jipp-core/src/test/resources/printer";
+
+    /** Encoded form of each packet. */
+    final List<byte[]> encoded;
+
+    /** Decoded form of each packet. */
+    final List<IppPacket> packets;
+
+    /** Total size of all encoded packets. */
+    final long size;
+
+    private Corpus(List<byte[]> encoded, List<IppPacket> packets) {
+        this.encoded = Collections.unmodifiableList(encoded);
+        this.packets = Collections.unmodifiableList(packets);
+        long total = 0;
+        for (byte[] bytes : encoded) {
+            total += bytes.length;
+        }
+        size = total;
+    }
+
+    /** Load all captures found in the corpus directory. */
+    static Corpus load() throws IOException {
+        File dir = new File(System.getProperty(CORPUS_PROPERTY, DEFAULT_CORPUS));
+        List<File> files = new ArrayList<>();
+        findBinFiles(files, dir);
+        if (files.isEmpty()) {
+            throw new IOException("No captures found in " + dir.getAbsolutePath());
+        }
+        Collections.sort(files);
+
+        List<byte[]> encoded = new ArrayList<>();
+        List<IppPacket> packets = new ArrayList<>();
+        for (File file : files) {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            encoded.add(bytes);
+            packets.add(new IppInputStream(new ByteArrayInputStream(bytes)).readPacket());
+        }
+        return new Corpus(encoded, packets);
+    }
+
+    private static void findBinFiles(List<File> files, File dir) {
+        File[] found = dir.listFiles();
+        if (found == null) return;
+        for (File file : found) {
+            if (file.isDirectory()) {
+                findBinFiles(files, file);
+            } else if (file.getName().endsWith(".bin")) {
+                files.add(file);
+            }
+        }
+    }
+}
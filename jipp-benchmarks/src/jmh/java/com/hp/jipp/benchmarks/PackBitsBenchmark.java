@@ -0,0 +1,78 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.pdl.pwg.PackBits;
+import com.hp.jipp.pdl.util.ReusableByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures PackBits encoding and decoding, in pages per second. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PackBitsBenchmark {
+
+    /** A page already encoded with PackBits. */
+    @State(Scope.Benchmark)
+    public static class EncodedPage {
+        PackBits packBits;
+        byte[] encoded;
+
+        @Setup
+        public void setup(PageState state) throws Exception {
+            packBits = packBits(state);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            state.forEachSwath(swath -> packBits.encode(new ByteArrayInputStream(swath), output));
+            encoded = output.toByteArray();
+        }
+    }
+
+    static PackBits packBits(PageState state) {
+        return new PackBits(state.colorSpace.getBytesPerPixel() * 8, state.page.getWidthPixels());
+    }
+
+    @Benchmark
+    public void encode(PageState state) throws Exception {
+        final PackBits packBits = packBits(state);
+        state.forEachSwath(swath -> packBits.encode(new ByteArrayInputStream(swath), PageState.SINK));
+    }
+
+    /** Encode each swath from its array into a reused buffer. */
+    @Benchmark
+    public void encodeArray(PageState state) throws Exception {
+        final PackBits packBits = packBits(state);
+        final ReusableByteArrayOutputStream encoded = new ReusableByteArrayOutputStream();
+        state.forEachSwath(swath -> {
+            encoded.reset();
+            packBits.encode(swath, 0, swath.length, encoded);
+            encoded.writeTo(PageState.SINK);
+        });
+    }
+
+    @Benchmark
+    public void decode(PageState state, EncodedPage page) {
+        page.packBits.decode(new ByteArrayInputStream(page.encoded), PageState.SINK, state.page.getHeightPixels());
+    }
+
+    /** Decode each swath from the encoded array into a reused array. */
+    @Benchmark
+    public void decodeArray(PageState state, EncodedPage page, Blackhole blackhole) throws Exception {
+        byte[] swath = new byte[state.page.renderSize(PageState.SWATH_HEIGHT, state.colorSpace)];
+        int offset = 0;
+        for (int yOffset = 0; yOffset < state.page.getHeightPixels(); yOffset += PageState.SWATH_HEIGHT) {
+            int height = Math.min(PageState.SWATH_HEIGHT, state.page.getHeightPixels() - yOffset);
+            offset = page.packBits.decode(page.encoded, offset, swath, 0, height);
+            blackhole.consume(swath);
+        }
+    }
+}
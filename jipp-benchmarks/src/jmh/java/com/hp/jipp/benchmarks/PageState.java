@@ -0,0 +1,84 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.pdl.ColorSpace;
+import com.hp.jipp.pdl.RenderableDocument;
+import com.hp.jipp.pdl.RenderablePage;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** A single synthetic page, for each combination of paper size, resolution, color space and content. */
+@State(Scope.Benchmark)
+public class PageState {
+    /** Height of each swath rendered at once, matching PwgWriter. */
+    static final int SWATH_HEIGHT = 64;
+
+    @Param({ "Letter", "A4" })
+    public SyntheticPage.Paper paper;
+
+    @Param({ "300", "600" })
+    public int dpi;
+
+    @Param({ "Rgb", "Grayscale" })
+    public ColorSpace colorSpace;
+
+    @Param({ "Text", "Photo", "Blank" })
+    public SyntheticPage.Content content;
+
+    SyntheticPage page;
+
+    /** A document consisting of [page] alone. */
+    RenderableDocument document;
+
+    @Setup
+    public void setup() {
+        page = new SyntheticPage(paper, dpi, content);
+        document = new RenderableDocument() {
+            @Override
+            public int getDpi() {
+                return dpi;
+            }
+
+            @NotNull
+            @Override
+            public Iterator<RenderablePage> iterator() {
+                return Collections.<RenderablePage>singletonList(page).iterator();
+            }
+        };
+    }
+
+    /** Render each swath of the page in turn, passing it to [swathConsumer]. */
+    void forEachSwath(SwathConsumer swathConsumer) throws Exception {
+        byte[] swath = new byte[page.renderSize(SWATH_HEIGHT, colorSpace)];
+        for (int yOffset = 0; yOffset < page.getHeightPixels(); yOffset += SWATH_HEIGHT) {
+            int height = Math.min(SWATH_HEIGHT, page.getHeightPixels() - yOffset);
+            if (height != SWATH_HEIGHT) swath = new byte[page.renderSize(height, colorSpace)];
+            page.render(yOffset, height, colorSpace, swath);
+            swathConsumer.accept(swath);
+        }
+    }
+
+    /** Receives rendered swaths. */
+    interface SwathConsumer {
+        void accept(byte[] swath) throws Exception;
+    }
+
+    /** Discards all output. */
+    static final OutputStream SINK = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) {
+        }
+    };
+}
@@ -0,0 +1,42 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.pdl.OutputSettings;
+import com.hp.jipp.pdl.pclm.PclmSettings;
+import com.hp.jipp.pdl.pclm.PclmWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures PCLm writing, in pages per second. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PclmBenchmark {
+    @Param({ "32" })
+    public int stripHeight;
+
+    @Benchmark
+    public void write(PageState state) throws IOException {
+        PclmSettings settings = new PclmSettings(new OutputSettings(state.colorSpace), stripHeight);
+        try (PclmWriter writer = new PclmWriter(PageState.SINK, settings)) {
+            writer.write(state.document);
+        }
+    }
+
+    @Benchmark
+    public void writeParallel(PageState state, Workers workers) throws IOException {
+        PclmSettings settings = new PclmSettings(new OutputSettings(state.colorSpace), stripHeight);
+        try (PclmWriter writer = new PclmWriter(PageState.SINK, settings)) {
+            writer.write(state.document, workers.executor);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.pdl.OutputSettings;
+import com.hp.jipp.pdl.RenderablePage;
+import com.hp.jipp.pdl.pwg.PwgReader;
+import com.hp.jipp.pdl.pwg.PwgSettings;
+import com.hp.jipp.pdl.pwg.PwgWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures PWG-Raster writing and reading, in pages per second. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PwgBenchmark {
+
+    /** A page already written as a PWG-Raster document. */
+    @State(Scope.Benchmark)
+    public static class PwgDocument {
+        byte[] encoded;
+
+        @Setup
+        public void setup(PageState state) throws IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            write(state, output);
+            encoded = output.toByteArray();
+        }
+    }
+
+    static void write(PageState state, OutputStream output) throws IOException {
+        PwgSettings settings = new PwgSettings(new OutputSettings(state.colorSpace));
+        try (PwgWriter writer = new PwgWriter(output, settings)) {
+            writer.write(state.document);
+        }
+    }
+
+    @Benchmark
+    public void write(PageState state) throws IOException {
+        write(state, PageState.SINK);
+    }
+
+    /** Render and encode swaths in parallel. */
+    @Benchmark
+    public void writeParallel(PageState state, Workers workers) throws IOException {
+        PwgSettings settings = new PwgSettings(new OutputSettings(state.colorSpace));
+        try (PwgWriter writer = new PwgWriter(PageState.SINK, settings)) {
+            writer.write(state.document, workers.executor);
+        }
+    }
+
+    /** Read the document and render all of its pages. */
+    @Benchmark
+    public void readDocument(PageState state, PwgDocument document, Blackhole blackhole) throws IOException {
+        for (RenderablePage page : new PwgReader(new ByteArrayInputStream(document.encoded)).readDocument()) {
+            byte[] swath = new byte[page.renderSize(PageState.SWATH_HEIGHT, state.colorSpace)];
+            for (int yOffset = 0; yOffset < page.getHeightPixels(); yOffset += PageState.SWATH_HEIGHT) {
+                int height = Math.min(PageState.SWATH_HEIGHT, page.getHeightPixels() - yOffset);
+                if (height != PageState.SWATH_HEIGHT) swath = new byte[page.renderSize(height, state.colorSpace)];
+                page.render(yOffset, height, state.colorSpace, swath);
+                blackhole.consume(swath);
+            }
+        }
+    }
+}
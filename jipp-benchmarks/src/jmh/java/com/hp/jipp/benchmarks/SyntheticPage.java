@@ -0,0 +1,126 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.benchmarks;
+
+import com.hp.jipp.pdl.ColorSpace;
+import com.hp.jipp.pdl.RenderablePage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A page having deterministic, realistic content. To keep rendering cost out of measurements, a band of content is
+ * generated once and repeated down the page.
+ */
+public final class SyntheticPage extends RenderablePage {
+    /** Kinds of page content, which differ greatly in how well they compress. */
+    public enum Content {
+        /** Dark strokes arranged in lines of words on a white background. */
+        Text,
+        /** Smoothly varying color with noise. */
+        Photo,
+        /** Entirely white. */
+        Blank
+    }
+
+    /** Supported paper sizes. */
+    public enum Paper {
+        Letter(8.5, 11.0),
+        A4(210 / 25.4, 297 / 25.4);
+
+        final double widthInches;
+        final double heightInches;
+
+        Paper(double widthInches, double heightInches) {
+            this.widthInches = widthInches;
+            this.heightInches = heightInches;
+        }
+    }
+
+    private static final int BAND_HEIGHT = 256;
+    private static final int LINE_HEIGHT = 50;
+    private static final int GLYPH_HEIGHT = 30;
+    private static final int WHITE = 0xFF;
+
+    private final byte[] rgbBand;
+    private final byte[] grayscaleBand;
+
+    SyntheticPage(Paper paper, int dpi, Content content) {
+        super((int) (paper.widthInches * dpi), (int) (paper.heightInches * dpi));
+        rgbBand = new byte[getWidthPixels() * ColorSpace.Rgb.getBytesPerPixel() * BAND_HEIGHT];
+        Random random = new Random(content.ordinal());
+        switch (content) {
+            case Text:
+                drawText(random);
+                break;
+            case Photo:
+                drawPhoto(random);
+                break;
+            case Blank:
+                Arrays.fill(rgbBand, (byte) WHITE);
+                break;
+        }
+        grayscaleBand = convert(rgbBand, ColorSpace.Rgb, ColorSpace.Grayscale);
+    }
+
+    private void drawText(Random random) {
+        Arrays.fill(rgbBand, (byte) WHITE);
+        int width = getWidthPixels();
+        for (int lineTop = 0; lineTop + GLYPH_HEIGHT < BAND_HEIGHT; lineTop += LINE_HEIGHT) {
+            int x = width / 10;
+            while (x < width * 9 / 10) {
+                int wordEnd = Math.min(x + 20 + random.nextInt(100), width * 9 / 10);
+                // Each glyph column is a vertical stroke segment of random extent
+                for (; x < wordEnd; x++) {
+                    if (random.nextInt(3) != 0) continue;
+                    int top = lineTop + random.nextInt(GLYPH_HEIGHT / 2);
+                    int bottom = top + GLYPH_HEIGHT / 2 + random.nextInt(GLYPH_HEIGHT / 2);
+                    for (int y = top; y < bottom; y++) {
+                        int index = (y * width + x) * 3;
+                        rgbBand[index] = 0;
+                        rgbBand[index + 1] = 0;
+                        rgbBand[index + 2] = 0;
+                    }
+                }
+                x += 15;
+            }
+        }
+    }
+
+    private void drawPhoto(Random random) {
+        int width = getWidthPixels();
+        for (int y = 0; y < BAND_HEIGHT; y++) {
+            for (int x = 0; x < width; x++) {
+                int index = (y * width + x) * 3;
+                rgbBand[index] = noisy(random, x * WHITE / width);
+                rgbBand[index + 1] = noisy(random, y * WHITE / BAND_HEIGHT);
+                rgbBand[index + 2] = noisy(random, (x + y) % WHITE);
+            }
+        }
+    }
+
+    private static byte noisy(Random random, int value) {
+        return (byte) Math.max(0, Math.min(WHITE, value + random.nextInt(17) - 8));
+    }
+
+    private static byte[] convert(byte[] pixels, ColorSpace from, ColorSpace to) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        from.convert(new ByteArrayInputStream(pixels), output, to);
+        return output.toByteArray();
+    }
+
+    @Override
+    public void render(int yOffset, int swathHeight, @NotNull ColorSpace colorSpace, @NotNull byte[] byteArray) {
+        byte[] band = colorSpace == ColorSpace.Grayscale ? grayscaleBand :
+                colorSpace == ColorSpace.Rgb ? rgbBand : null;
+        if (band == null) throw new IllegalArgumentException("Unsupported color space " + colorSpace);
+        int lineBytes = getWidthPixels() * colorSpace.getBytesPerPixel();
+        for (int line = 0; line < swathHeight; line++) {
+            int bandLine = (yOffset + line) % BAND_HEIGHT;
+            System.arraycopy(band, bandLine * lineBytes, byteArray, line * lineBytes, lineBytes);
+        }
+    }
+}
@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2020 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -87,5 +87,75 @@ interface AttributeCollection : PrettyPrintable {
             attributes.find { it.name == type.name }?.let {
                 type.coerce(it)
             }
+
+        /**
+         * Return [attributes] indexed by name, for efficient extraction of many members. If more than one attribute
+         * has the same name, only the first is kept.
+         */
+        fun members(attributes: List<Attribute<*>>): Map<String, Attribute<*>> {
+            if (attributes is IndexedMembers) return attributes.members
+            return indexByName(attributes)
+        }
+
+        /** Returns the first value of attribute [type] from [members]. */
+        fun <T : Any> extractOne(members: Map<String, Attribute<*>>, type: AttributeType<T>): T? =
+            coerced(members, type)?.let {
+                when (it.size) {
+                    0 -> null
+                    else -> it[0]
+                }
+            }
+
+        /** Returns all values of attribute [type] from [members]. */
+        fun <T : Any> extractAll(members: Map<String, Attribute<*>>, type: AttributeType<T>): List<T>? =
+            coerced(members, type)?.let {
+                when (it.size) {
+                    0 -> null
+                    else -> it
+                }
+            }
+
+        /** Return the member having the same name and coerced into the given attribute type, if possible. */
+        fun <T : Any> coerced(members: Map<String, Attribute<*>>, type: AttributeType<T>): Attribute<T>? =
+            members[type.name]?.let {
+                type.coerce(it)
+            }
+    }
+}
+
+/**
+ * Return this attribute if it holds no typed collections. Otherwise return an equivalent attribute holding an
+ * [UntypedCollection] in place of each typed collection, whose members are themselves already typed. Coercing the
+ * result builds new collections without converting their members again.
+ */
+internal fun Attribute<*>.untypeCollections(): Attribute<*> =
+    if (none { it is AttributeCollection && it !is UntypedCollection }) {
+        this
+    } else {
+        AttributeImpl(
+            name, UntypedCollection.SetType(name),
+            filterIsInstance<AttributeCollection>().map { value ->
+                UntypedCollection(IndexedMembers(value.attributes.map { it.untypeCollections() }))
+            }
+        )
+    }
+
+/** Members of a collection, already indexed by name for [AttributeCollection.Converter.members]. */
+private class IndexedMembers(private val attributes: List<Attribute<*>>) : List<Attribute<*>> by attributes {
+    val members = indexByName(attributes)
+
+    override fun equals(other: Any?) = attributes == other
+
+    override fun hashCode() = attributes.hashCode()
+
+    override fun toString() = attributes.toString()
+}
+
+/** Return [attributes] indexed by name, keeping only the first of any having the same name. */
+private fun indexByName(attributes: List<Attribute<*>>): Map<String, Attribute<*>> {
+    val members = HashMap<String, Attribute<*>>(attributes.size * 2)
+    for (attribute in attributes) {
+        if (!members.containsKey(attribute.name)) members[attribute.name] = attribute
     }
+    return members
 }
@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2021 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -56,6 +56,16 @@ interface AttributeGroup : PrettyPrintable, List<Attribute<*>> {
     fun toMutable(): MutableAttributeGroup =
         mutableGroupOf(tag, this)
 
+    /**
+     * Return a view of this group which retains attributes coerced by [get], so that repeated reads with the same
+     * [AttributeType] return the same attribute without coercing its values again. Attributes having modifiable
+     * values, such as most [AttributeCollection] types, are rebuilt on every read from their retained members.
+     *
+     * A modifiable group returns a view of a copy of its current contents.
+     */
+    fun withCoercionCache(): AttributeGroup =
+        CachingAttributeGroup(this)
+
     /** Return a pretty-printed version of this packet (including separators and line breaks) */
     fun prettyPrint(maxWidth: Int, indent: String) = PrettyPrinter(tag.name, PrettyPrinter.OBJECT, indent, maxWidth)
         .addAll(this)
@@ -66,7 +76,8 @@ interface AttributeGroup : PrettyPrintable, List<Attribute<*>> {
         /** Return a fixed group of attributes. */
         @JvmStatic
         fun groupOf(tag: DelimiterTag, attributes: Iterable<Attribute<*>>): AttributeGroup =
-            AttributeGroupImpl(tag, attributes.toList())
+            // No need to copy a List because AttributeGroupImpl does so
+            AttributeGroupImpl(tag, attributes as? List<Attribute<*>> ?: attributes.toList())
 
         /** Return a fixed group of attributes. */
         @JvmStatic
@@ -1,19 +1,38 @@
-// © Copyright 2017 - 2023 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
 
 /**
  * An implementation of [AttributeGroup].
+ *
+ * Attributes are indexed by name on construction, so lookups by name or type take constant time.
  */
-class AttributeGroupImpl(
+class AttributeGroupImpl private constructor(
     override val tag: DelimiterTag,
-    attributes: List<Attribute<*>>
-) : AttributeGroup, List<Attribute<*>> by attributes.handleDuplicates() {
-    private val attributes = toList()
+    private val attributes: ArrayList<Attribute<*>>,
+    private val index: NameIndex
+) : AttributeGroup, List<Attribute<*>> by attributes {
+
+    constructor(tag: DelimiterTag, attributes: List<Attribute<*>>) : this(
+        tag,
+        ArrayList(attributes.size),
+        NameIndex(attributes.size)
+    ) {
+        // Keep the position of the first occurrence of any duplicate but the value of the last, like handleDuplicates
+        for (attribute in attributes) {
+            val position = index.putIfAbsent(attribute.name, this.attributes.size)
+            if (position == -1) {
+                this.attributes.add(attribute)
+            } else {
+                this.attributes[position] = attribute
+            }
+        }
+    }
 
     /** Return the attribute corresponding to the specified [name]. */
-    override operator fun get(name: String): Attribute<*>? = firstOrNull { it.name == name }
+    override operator fun get(name: String): Attribute<*>? =
+        index[name].let { if (it == -1) null else attributes[it] }
 
     /** Return the attribute as conforming to the supplied attribute type. */
     override operator fun <T : Any> get(type: AttributeType<T>): Attribute<T>? =
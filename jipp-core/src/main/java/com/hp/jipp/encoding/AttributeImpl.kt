@@ -1,9 +1,10 @@
-// © Copyright 2017 - 2020 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
 
 import com.hp.jipp.util.BuildError
+import java.net.URI
 
 /** Overridable implementation for any subclass of [Attribute]. */
 open class AttributeImpl<T : Any>(
@@ -18,6 +19,9 @@ open class AttributeImpl<T : Any>(
         }
     }
 
+    /** Hash of [values], cached once computed if all values are immutable, or 0 if not yet cached. */
+    private var valuesHash = 0
+
     override fun getValue(): T? = if (values.isEmpty()) null else values[0]
 
     override fun toString() =
@@ -39,7 +43,8 @@ open class AttributeImpl<T : Any>(
                         otherType.tag == type.tag
                 } else {
                     // Otherwise just make sure their names, type names, and values align
-                    other.name == name && other.type.name == type.name && values.stringinate() == other.stringinate()
+                    other.name == name && other.type.name == type.name && !cachedHashDiffers(other) &&
+                        values.stringinatedEquals(other)
                 }
             }
             is List<*> ->
@@ -48,8 +53,26 @@ open class AttributeImpl<T : Any>(
             else -> false
         }
 
+    /** Return true if [other] is known to hold different values because its cached hash differs from ours. */
+    private fun cachedHashDiffers(other: Attribute<*>) =
+        other is AttributeImpl<*> && valuesHash != 0 && other.valuesHash != 0 && valuesHash != other.valuesHash
+
     override fun hashCode(): Int {
         // We do not consider name/tag when hashing because equals==true must also result in equal hashes
-        return values.stringinate().hashCode()
+        if (valuesHash != 0) return valuesHash
+        val hash = values.stringinatedHashCode()
+        // Values such as collections may be modified after construction so their hash cannot be kept.
+        if (values.all { it.isImmutable() }) valuesHash = hash
+        return hash
+    }
+
+    companion object {
+        /** Return true if this value is of a type known to be unmodifiable. */
+        private fun Any.isImmutable() =
+            when (this) {
+                is String, is Int, is Boolean, is Name, is Text, is KeywordOrName, is OtherString, is Enum,
+                is Resolution, is IntRange, is IntOrIntRange, is URI -> true
+                else -> false
+            }
     }
 }
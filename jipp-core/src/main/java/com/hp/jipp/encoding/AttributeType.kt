@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2020 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -31,7 +31,11 @@ interface AttributeType<T : Any> {
      */
     fun coerce(attribute: Attribute<*>): Attribute<T>? {
         val otherType = attribute.type
-        return if (otherType is EmptyAttributeType) {
+        return if (otherType === this) {
+            // Already of this type, so its values need no conversion
+            @Suppress("UNCHECKED_CAST")
+            attribute as Attribute<T>
+        } else if (otherType is EmptyAttributeType) {
             // Allow coercion of empty attributes (having an out-of-band tag)
             empty(otherType.tag)
         } else {
@@ -0,0 +1,75 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+import java.io.InputStream
+import java.nio.Buffer
+import java.nio.ByteBuffer
+import kotlin.math.min
+
+/**
+ * An [InputStream] reading directly from [buffer], advancing its position as bytes are consumed.
+ *
+ * Unlike a [java.io.BufferedInputStream] no intermediate copy of the data is made, and [mark] is supported
+ * for any read limit.
+ */
+internal class ByteBufferInputStream(private var buffer: ByteBuffer) : InputStream() {
+    private var markPosition = buffer.position()
+
+    /** Read from [buffer] instead of the current buffer. */
+    fun restart(buffer: ByteBuffer) {
+        this.buffer = buffer
+        markPosition = buffer.position()
+    }
+
+    override fun read(): Int =
+        if (buffer.hasRemaining()) buffer.get().toInt() and BYTE_MASK else -1
+
+    override fun read(bytes: ByteArray, offset: Int, length: Int): Int {
+        if (length == 0) return 0
+        if (!buffer.hasRemaining()) return -1
+        val count = min(length, buffer.remaining())
+        buffer.get(bytes, offset, count)
+        return count
+    }
+
+    override fun skip(length: Long): Long {
+        if (length <= 0) return 0
+        val count = min(length, buffer.remaining().toLong()).toInt()
+        buffer.seek(buffer.position() + count)
+        return count.toLong()
+    }
+
+    override fun available() = buffer.remaining()
+
+    override fun markSupported() = true
+
+    override fun mark(readLimit: Int) {
+        markPosition = buffer.position()
+    }
+
+    override fun reset() {
+        buffer.seek(markPosition)
+    }
+
+    companion object {
+        private const val BYTE_MASK = 0xFF
+    }
+}
+
+/**
+ * Move this buffer's position. Declared on [Buffer] so that the call links against `Buffer.position(int)`, which is
+ * present on all JDK 8+ runtimes.
+ */
+internal fun Buffer.seek(position: Int) {
+    position(position)
+}
+
+/** Return an independent view of this buffer's content from [start] (inclusive) to [end] (exclusive). */
+internal fun ByteBuffer.view(start: Int, end: Int): ByteBuffer =
+    duplicate().also {
+        val view: Buffer = it
+        view.limit(end)
+        view.position(start)
+    }
@@ -0,0 +1,26 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+import java.io.OutputStream
+import java.nio.ByteBuffer
+
+/**
+ * An [OutputStream] writing directly into [buffer], advancing its position as bytes are written. Writing beyond the
+ * buffer's limit throws [java.nio.BufferOverflowException].
+ */
+internal class ByteBufferOutputStream(private var buffer: ByteBuffer) : OutputStream() {
+    /** Write into [buffer] instead of the current buffer. */
+    fun restart(buffer: ByteBuffer) {
+        this.buffer = buffer
+    }
+
+    override fun write(byte: Int) {
+        buffer.put(byte.toByte())
+    }
+
+    override fun write(bytes: ByteArray, offset: Int, length: Int) {
+        buffer.put(bytes, offset, length)
+    }
+}
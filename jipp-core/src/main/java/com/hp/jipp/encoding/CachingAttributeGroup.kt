@@ -0,0 +1,38 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+/**
+ * A view of an unmodifiable [group] which retains attributes coerced by [get], as returned by
+ * [AttributeGroup.withCoercionCache].
+ */
+internal class CachingAttributeGroup(private val group: AttributeGroup) : AttributeGroup by group {
+    private val coerced = CoercionCache()
+
+    override fun <T : Any> get(type: AttributeType<T>): Attribute<T>? =
+        group[type.name]?.let {
+            coerced.coerce(type, it)
+        }
+
+    // Members having default implementations would otherwise be delegated to group, bypassing the cache
+    override fun <T : Any> getValues(type: AttributeType<T>): List<T> =
+        get(type) ?: listOf()
+
+    override fun <T : Any> getValue(type: AttributeType<T>): T? =
+        get(type)?.firstOrNull()
+
+    override fun <T : Any> getStrings(type: AttributeType<T>): List<String> =
+        get(type)?.strings() ?: listOf()
+
+    override fun <T : Any> getString(type: AttributeType<T>): String? =
+        get(type)?.strings()?.firstOrNull()
+
+    override fun withCoercionCache(): AttributeGroup = this
+
+    override fun equals(other: Any?) = other === this || group == other
+
+    override fun hashCode() = group.hashCode()
+
+    override fun toString() = group.toString()
+}
@@ -0,0 +1,35 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Remembers attributes coerced from an unmodifiable group so that repeated typed reads of the same attribute do not
+ * repeat the work. May be used concurrently.
+ *
+ * Entries are kept by attribute name, so the cache never holds more than one entry for each attribute in the group,
+ * even if callers construct a new [AttributeType] for every read. Typed collections such as
+ * [com.hp.jipp.model.MediaCol] can be modified, so they are never shared between reads. Instead the cache keeps their
+ * already-typed members, from which each read quickly builds new collections.
+ */
+internal class CoercionCache {
+    /** A coerced attribute, or if it holds typed collections, their members to build them again from. */
+    private class Entry(val type: AttributeType<*>, val coerced: Attribute<*>?, val members: Attribute<*>?)
+
+    private val entries = ConcurrentHashMap<String, Entry>()
+
+    /** Return [attribute] coerced to [type], coercing it only if not already done for the same [type]. */
+    @Suppress("UNCHECKED_CAST") // Entries are only returned for the type that produced them
+    fun <T : Any> coerce(type: AttributeType<T>, attribute: Attribute<*>): Attribute<T>? {
+        val entry = entries[type.name]
+        if (entry != null && entry.type === type) {
+            return entry.members?.let { type.coerce(it) } ?: entry.coerced as Attribute<T>?
+        }
+        return type.coerce(attribute).also {
+            val members = it?.untypeCollections()
+            entries[type.name] = if (members === it) Entry(type, it, null) else Entry(type, null, members)
+        }
+    }
+}
@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2021 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -7,13 +7,67 @@ import com.hp.jipp.model.EnumTypes
 import com.hp.jipp.model.KeyValuesTypes
 import com.hp.jipp.util.ParseError
 import java.io.BufferedInputStream
+import java.io.ByteArrayInputStream
 import java.io.DataInputStream
 import java.io.IOException
 import java.io.InputStream
+import java.nio.ByteBuffer
 
-/** An [InputStream] which can read IPP packet data. */
+/**
+ * An [InputStream] which can read IPP packet data.
+ *
+ * When constructed from a [ByteBuffer] (heap, direct, or a [java.nio.MappedByteBuffer]) data is read directly from
+ * the buffer without intermediate buffering or copying of names and string values.
+ */
 @Suppress("TooManyFunctions") // This utility class must handle many different data types.
-class IppInputStream(inputStream: InputStream) : DataInputStream(BufferedInputStream(inputStream)) {
+class IppInputStream private constructor(
+    inputStream: InputStream,
+    /** Source buffer, if reading directly from one. */
+    private var buffer: ByteBuffer?
+) : DataInputStream(inputStream) {
+
+    /** Reusable space for reading short strings. */
+    private val stringBytes = ByteArray(STRING_BYTES_SIZE)
+
+    /** Adapters for each kind of source used so far, retained so that restarting does not allocate them again. */
+    private var streamSource = inputStream as? RestartableBufferedInputStream
+    private var bufferSource = inputStream as? ByteBufferInputStream
+
+    /** Construct an [IppInputStream] reading from [inputStream]. */
+    constructor(inputStream: InputStream) : this(RestartableBufferedInputStream(inputStream), null)
+
+    /**
+     * Construct an [IppInputStream] reading from [buffer], starting at its current position. The buffer's position
+     * is advanced as data is read, so any data following the packet (such as a document) may be read from
+     * [buffer] afterwards.
+     */
+    constructor(buffer: ByteBuffer) : this(ByteBufferInputStream(buffer), buffer)
+
+    /**
+     * Read from [inputStream] instead of the current source, discarding any data buffered from it, so that this object
+     * can be reused rather than constructing a new one. The current source is not closed.
+     */
+    fun restart(inputStream: InputStream): IppInputStream = apply {
+        `in` = streamSource?.apply { restart(inputStream) }
+            ?: RestartableBufferedInputStream(inputStream).also { streamSource = it }
+        buffer = null
+    }
+
+    /**
+     * Read from [buffer] instead of the current source, starting at its current position, so that this object can
+     * be reused rather than constructing a new one. The current source is not closed.
+     */
+    fun restart(buffer: ByteBuffer): IppInputStream = apply {
+        `in` = bufferSource?.apply { restart(buffer) } ?: ByteBufferInputStream(buffer).also { bufferSource = it }
+        this.buffer = buffer
+    }
+
+    /** Let go of all sources without discarding their adapters, so that this object can be held for reuse. */
+    internal fun detach(): IppInputStream = apply {
+        streamSource?.restart(EMPTY_INPUT)
+        bufferSource?.restart(EMPTY_BUFFER)
+        buffer = null
+    }
 
     /** Reads a complete packet from this stream. */
     @Throws(IOException::class)
@@ -25,13 +79,102 @@ class IppInputStream(inputStream: InputStream) : DataInputStream(BufferedInputSt
             generateSequence { readGroup() }.toList()
         )
 
+    /**
+     * Reads a complete packet from this stream, deferring the decoding of each attribute until it is first
+     * accessed from its [AttributeGroup].
+     *
+     * Attribute data is retained in its encoded form until decoded. When reading from a [ByteBuffer], attribute
+     * data is decoded from the buffer in place, so its content must not be altered while the packet is in use.
+     */
+    @Throws(IOException::class)
+    fun readLazyPacket() =
+        IppPacket(
+            readShort().toInt(), // Version
+            readShort().toInt(), // Code / Status
+            readInt(), // ID
+            generateSequence { readGroup { LazyAttributeGroup.read(this, buffer, it) } }.toList()
+        )
+
+    /**
+     * Reads a complete packet from this stream, delivering its content to [handler] as it is read instead of
+     * returning an [IppPacket]. Only one value is held in memory at a time, so packets of any size can be processed.
+     */
+    @Throws(IOException::class)
+    fun readPacket(handler: IppPacketHandler) {
+        handler.onHeader(readShort().toInt(), readShort().toInt(), readInt())
+        while (true) {
+            val tag = readTag()?.takeIf { it != Tag.endOfAttributes } ?: return
+            if (tag !is DelimiterTag) throw ParseError("Illegal delimiter $tag")
+            handler.onGroupStart(tag)
+            readGroupValues(handler)
+            handler.onGroupEnd(tag)
+        }
+    }
+
+    /** Deliver all values in the current group to [handler]. */
+    private fun readGroupValues(handler: IppPacketHandler) {
+        var attributeName = ""
+        while (true) {
+            mark(1)
+            val tag = readTag() ?: return
+            if (tag.isDelimiter) {
+                reset()
+                return
+            }
+            // An empty name means this is an additional value of the previous attribute
+            attributeName = readString().ifEmpty {
+                attributeName.ifEmpty { throw ParseError("Missing name for $tag value") }
+            }
+            deliverValue(handler, attributeName, tag)
+        }
+    }
+
+    /** Deliver a single value, including any collection content, to [handler]. */
+    private fun deliverValue(handler: IppPacketHandler, name: String, tag: Tag) {
+        val value = readValueBytes()
+        if (tag == Tag.beginCollection) {
+            handler.onCollectionStart(name)
+            readCollectionValues(handler)
+            handler.onCollectionEnd(name)
+        } else {
+            handler.onAttribute(name, tag, value)
+        }
+    }
+
+    /** Deliver the values of all collection members to [handler], up to and including the end of the collection. */
+    private fun readCollectionValues(handler: IppPacketHandler) {
+        var memberName = ""
+        while (true) {
+            when (val tag = readTag() ?: throw ParseError("Missing ${Tag.endCollection}")) {
+                Tag.endCollection -> {
+                    skipValueBytes()
+                    skipValueBytes()
+                    return
+                }
+                Tag.memberAttributeName -> {
+                    skipValueBytes()
+                    memberName = readString()
+                }
+                else -> {
+                    // Skip the (blank) name
+                    skipValueBytes()
+                    if (memberName.isEmpty()) throw ParseError("Missing member name for $tag value")
+                    deliverValue(handler, memberName, tag)
+                }
+            }
+        }
+    }
+
     /**
      * Returns the next [AttributeGroup] from the stream or null if there are no more groups.
      */
-    fun readGroup(): AttributeGroup? =
+    fun readGroup(): AttributeGroup? = readGroup { readAttributeGroup(it) }
+
+    /** Returns the next [AttributeGroup] produced by [groupReader] or null if there are no more groups. */
+    private fun readGroup(groupReader: (DelimiterTag) -> AttributeGroup): AttributeGroup? =
         readTag()?.takeIf { it != Tag.endOfAttributes }?.let { tag ->
             if (tag !is DelimiterTag) throw ParseError("Illegal delimiter $tag")
-            readAttributeGroup(tag)
+            groupReader(tag)
         } // Note: a null tag means no endOfAttributes tag (which is not valid) but we ignore it.
 
     /** Read and return the next [Tag] in the input if possible. */
@@ -44,7 +187,7 @@ class IppInputStream(inputStream: InputStream) : DataInputStream(BufferedInputSt
         AttributeGroup.groupOf(tag, generateSequence { readNextAttribute() }.toList())
 
     /** Read the next attribute if present. */
-    private fun readNextAttribute(): Attribute<*>? {
+    internal fun readNextAttribute(): Attribute<*>? {
         mark(1)
         return readTag()?.let { tag ->
             if (tag.isDelimiter) {
@@ -61,7 +204,25 @@ class IppInputStream(inputStream: InputStream) : DataInputStream(BufferedInputSt
         readAnyAttribute(readString(), initTag)
 
     /** Read the next string (including length) from the stream. */
-    internal fun readString() = String(readValueBytes())
+    internal fun readString(): String {
+        val buffer = buffer
+        return if (buffer?.hasArray() == true) {
+            // Decode directly from the backing array
+            val length = readShort().toInt()
+            if (length > buffer.remaining()) throw ParseError("Value too short")
+            Utf8Cache.decode(buffer.array(), buffer.arrayOffset() + buffer.position(), length).also {
+                buffer.seek(buffer.position() + length)
+            }
+        } else {
+            val length = readShort().toInt()
+            if (length <= stringBytes.size) {
+                readFully(stringBytes, 0, length)
+                Utf8Cache.decode(stringBytes, 0, length)
+            } else {
+                String(ByteArray(length).also { readFully(it) }, Charsets.UTF_8)
+            }
+        }
+    }
 
     /** Read and return an attribute with all of its values, having its attribute name already. */
     private fun readAnyAttribute(attributeName: String, initTag: Tag): Attribute<*> =
@@ -71,7 +232,7 @@ class IppInputStream(inputStream: InputStream) : DataInputStream(BufferedInputSt
                 EmptyAttribute<Nothing>(attributeName, initTag)
             }
             is ValueTag ->
-                IppStreams.codecs.find { it.handlesTag(initTag) }?.let {
+                IppStreams.codecOf(initTag)?.let {
                     UnknownAttribute(
                         attributeName,
                         listOf(readValue(it, initTag, attributeName)) +
@@ -131,9 +292,7 @@ class IppInputStream(inputStream: InputStream) : DataInputStream(BufferedInputSt
                 reset()
                 null
             } else if (tag is ValueTag) {
-                val codec = IppStreams.tagToCodec[tag] // Fast lookup
-                    ?: IppStreams.codecs.firstOrNull { it.handlesTag(tag) } // Slower, more thorough lookup
-                    ?: throw ParseError("No codec found for tag $tag")
+                val codec = IppStreams.codecOf(tag) ?: throw ParseError("No codec found for tag $tag")
                 readValue(codec, tag, attributeName)
             } else null
         }
@@ -171,4 +330,21 @@ class IppInputStream(inputStream: InputStream) : DataInputStream(BufferedInputSt
         takeLength(IppStreams.BYTE_LENGTH)
         return readByte()
     }
+
+    /** A [BufferedInputStream] which can be pointed at a new source, keeping its buffer. */
+    private class RestartableBufferedInputStream(inputStream: InputStream) : BufferedInputStream(inputStream) {
+        fun restart(inputStream: InputStream) {
+            `in` = inputStream
+            pos = 0
+            count = 0
+            markpos = -1
+            marklimit = 0
+        }
+    }
+
+    companion object {
+        private const val STRING_BYTES_SIZE = 256
+        private val EMPTY_INPUT: InputStream = ByteArrayInputStream(ByteArray(0))
+        private val EMPTY_BUFFER: ByteBuffer = ByteBuffer.allocate(0)
+    }
 }
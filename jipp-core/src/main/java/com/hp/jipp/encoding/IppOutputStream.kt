@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2020 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -6,20 +6,79 @@ package com.hp.jipp.encoding
 import com.hp.jipp.util.BuildError
 import java.io.DataOutputStream
 import java.io.OutputStream
+import java.nio.ByteBuffer
 
-/** An [OutputStream] for writing an [IppPacket]. */
+/**
+ * An [OutputStream] for writing an [IppPacket].
+ *
+ * A packet may also be written incrementally, without holding all of its groups in memory, by calling [writeHeader],
+ * then [write] for each [AttributeGroup], and finally [writeEndOfAttributes].
+ */
 class IppOutputStream(outputStream: OutputStream) : DataOutputStream(outputStream) {
 
+    /** Adapter used when writing into a buffer, retained so that restarting does not allocate it again. */
+    private var bufferDestination = outputStream as? ByteBufferOutputStream
+
+    /**
+     * Construct an [IppOutputStream] writing directly into [buffer], starting at its current position. Writing more
+     * than the buffer's remaining space throws [java.nio.BufferOverflowException], so size it using [encodedSize].
+     */
+    constructor(buffer: ByteBuffer) : this(ByteBufferOutputStream(buffer))
+
+    /**
+     * Write to [outputStream] instead of the current destination, resetting [size], so that this object can be
+     * reused rather than constructing a new one. The current destination is not flushed or closed.
+     */
+    fun restart(outputStream: OutputStream): IppOutputStream = apply {
+        out = outputStream
+        written = 0
+    }
+
+    /**
+     * Write directly into [buffer] instead of the current destination, starting at its current position and
+     * resetting [size], so that this object can be reused rather than constructing a new one.
+     */
+    fun restart(buffer: ByteBuffer): IppOutputStream = apply {
+        out = bufferDestination?.apply { restart(buffer) }
+            ?: ByteBufferOutputStream(buffer).also { bufferDestination = it }
+        written = 0
+    }
+
+    /** Let go of all destinations without discarding their adapters, so that this object can be held for reuse. */
+    internal fun detach(): IppOutputStream = apply {
+        bufferDestination?.restart(EMPTY_BUFFER)
+        out = DetachedOutputStream
+        written = 0
+    }
+
     fun write(packet: IppPacket) {
         with(packet) {
-            writeShort(versionNumber)
-            writeShort(code)
-            writeInt(requestId)
-            attributeGroups.forEach { write(it) }
-            write(Tag.endOfAttributes)
+            write(versionNumber, code, requestId, attributeGroups.iterator())
         }
     }
 
+    /**
+     * Write a complete packet having the supplied header fields, taking each [AttributeGroup] from [groups] only
+     * when it is ready to be written.
+     */
+    fun write(versionNumber: Int, code: Int, requestId: Int, groups: Iterator<AttributeGroup>) {
+        writeHeader(versionNumber, code, requestId)
+        groups.forEach { write(it) }
+        writeEndOfAttributes()
+    }
+
+    /** Write the header of a packet. Must be followed by zero or more groups and then [writeEndOfAttributes]. */
+    fun writeHeader(versionNumber: Int, code: Int, requestId: Int) {
+        writeShort(versionNumber)
+        writeShort(code)
+        writeInt(requestId)
+    }
+
+    /** Write the tag marking the end of a packet's attribute groups. */
+    fun writeEndOfAttributes() {
+        write(Tag.endOfAttributes)
+    }
+
     /** Write a series of bytes to the output stream, prefixed by length. */
     internal fun writeBytesValue(bytes: ByteArray) {
         writeShort(bytes.size)
@@ -38,7 +97,21 @@ class IppOutputStream(outputStream: OutputStream) : DataOutputStream(outputStrea
 
     /** Write a string to the output stream, prefixed by length. */
     internal fun writeStringValue(string: String) {
-        writeBytesValue(string.toByteArray(Charsets.UTF_8))
+        if (out === DiscardingOutputStream) {
+            // Only measuring, so count the bytes without encoding them
+            written += IppStreams.stringLength(string)
+        } else {
+            writeBytesValue(string.toByteArray(Charsets.UTF_8))
+        }
+    }
+
+    /** Write a frequently-used string such as an attribute name or keyword, prefixed by length. */
+    internal fun writeCommonStringValue(string: String) {
+        if (out === DiscardingOutputStream) {
+            written += IppStreams.stringLength(string)
+        } else {
+            writeBytesValue(Utf8Cache.encode(string))
+        }
     }
 
     /** Write [tag] to this stream. */
@@ -58,7 +131,7 @@ class IppOutputStream(outputStream: OutputStream) : DataOutputStream(outputStrea
         if (type is EmptyAttributeType) {
             // Write the out-of-band tag
             write(type.tag)
-            writeStringValue(name)
+            writeCommonStringValue(name)
             writeShort(0) // 0 value length = no values
         } else {
             writeValueAttribute(attribute, name)
@@ -69,8 +142,7 @@ class IppOutputStream(outputStream: OutputStream) : DataOutputStream(outputStrea
     private fun writeValueAttribute(attribute: Attribute<*>, name: String = attribute.name) {
         var nameToWrite = name
         attribute.forEach { value ->
-            val encoder = IppStreams.clsToCodec[value.javaClass]
-                ?: IppStreams.codecs.firstOrNull { it.cls.isAssignableFrom(value.javaClass) }
+            val encoder = IppStreams.codecOf(value.javaClass)
                 ?: throw BuildError("Cannot handle $value: ${value.javaClass}")
 
             // If the attribute has an enforced tag then apply it
@@ -80,7 +152,7 @@ class IppOutputStream(outputStream: OutputStream) : DataOutputStream(outputStrea
                 encoder.tagOf(value)
             }
             write(tag)
-            writeStringValue(nameToWrite)
+            writeCommonStringValue(nameToWrite)
             encoder.writeValue(this, value)
 
             // Only write attribute name for the first item
@@ -93,13 +165,52 @@ class IppOutputStream(outputStream: OutputStream) : DataOutputStream(outputStrea
         for (attribute in attributes) {
             write(Tag.memberAttributeName)
             writeShort(0)
-            writeStringValue(attribute.name)
+            writeCommonStringValue(attribute.name)
             /** Write the attribute with a blank name */
             write(attribute, name = "")
         }
         // Write an empty attribute to end the collection
         write(Tag.endCollection)
-        writeStringValue("")
+        writeCommonStringValue("")
         writeShort(0) // 0 value length = no values
     }
+
+    /** Discards all output. */
+    private object DiscardingOutputStream : OutputStream() {
+        override fun write(byte: Int) = Unit
+        override fun write(bytes: ByteArray, offset: Int, length: Int) = Unit
+    }
+
+    /** Rejects all output, for streams which have been detached from their destination. */
+    private object DetachedOutputStream : OutputStream() {
+        override fun write(byte: Int) = throw IllegalStateException("Stream is detached")
+    }
+
+    companion object {
+        private val EMPTY_BUFFER: ByteBuffer = ByteBuffer.allocate(0)
+
+        /** Return the exact number of bytes [packet] occupies when written. */
+        @JvmStatic
+        fun encodedSize(packet: IppPacket): Int = measure { write(packet) }
+
+        /** Return the exact number of bytes [group] occupies when written, including its delimiter tag. */
+        @JvmStatic
+        fun encodedSize(group: AttributeGroup): Int = measure { write(group) }
+
+        /** Return the exact number of bytes [attribute] occupies when written, including all of its values. */
+        @JvmStatic
+        fun encodedSize(attribute: Attribute<*>): Int = measure { write(attribute) }
+
+        /**
+         * Return [packet] encoded into a single array of exactly [encodedSize] bytes, allocated after measuring
+         * the packet. Measuring only counts the bytes of strings rather than encoding them.
+         */
+        @JvmStatic
+        fun toByteArray(packet: IppPacket): ByteArray =
+            ByteArray(encodedSize(packet)).also { IppOutputStream(ByteBuffer.wrap(it)).write(packet) }
+
+        /** Return the number of bytes written by [block]. */
+        private inline fun measure(block: IppOutputStream.() -> Unit): Int =
+            IppOutputStream(DiscardingOutputStream).apply(block).size()
+    }
 }
@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2023 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -72,6 +72,13 @@ data class IppPacket constructor(
     fun withAttributeGroups(attributeGroups: List<AttributeGroup>): IppPacket =
         copy(attributeGroups = attributeGroups)
 
+    /**
+     * Make a copy of this packet whose groups retain attributes coerced by typed reads, as described by
+     * [AttributeGroup.withCoercionCache].
+     */
+    fun withCoercionCache(): IppPacket =
+        withAttributeGroups(attributeGroups.map { it.withCoercionCache() })
+
     /** Write this packet to the [OutputStream] as per RFC2910.  */
     @Throws(IOException::class)
     @Deprecated(
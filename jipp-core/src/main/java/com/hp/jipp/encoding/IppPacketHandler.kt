@@ -0,0 +1,40 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+/**
+ * Receives the content of an IPP packet as it is read by [IppInputStream.readPacket], without the packet or its
+ * groups being assembled in memory. Override only the events of interest; by default each event is ignored.
+ *
+ * Each value of an attribute is delivered separately, in order. A [Tag.beginCollection] value is delivered as
+ * [onCollectionStart], followed by the values of its members and finally [onCollectionEnd].
+ */
+abstract class IppPacketHandler {
+    /** Called first, with the packet's version number, operation or status code, and request ID. */
+    open fun onHeader(versionNumber: Int, code: Int, requestId: Int) {
+    }
+
+    /** Called at the start of each group of attributes. */
+    open fun onGroupStart(tag: DelimiterTag) {
+    }
+
+    /**
+     * Called for each non-collection value of an attribute (or of a collection member) having [name]. [value]
+     * contains the encoded value, which for an [OutOfBandTag] is normally empty.
+     */
+    open fun onAttribute(name: String, tag: Tag, value: ByteArray) {
+    }
+
+    /** Called when a collection value of an attribute (or of a collection member) having [name] begins. */
+    open fun onCollectionStart(name: String) {
+    }
+
+    /** Called when a collection value of an attribute (or of a collection member) having [name] ends. */
+    open fun onCollectionEnd(name: String) {
+    }
+
+    /** Called at the end of each group of attributes. */
+    open fun onGroupEnd(tag: DelimiterTag) {
+    }
+}
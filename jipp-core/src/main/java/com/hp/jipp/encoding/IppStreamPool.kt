@@ -0,0 +1,57 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+import java.io.InputStream
+import java.io.OutputStream
+import java.nio.ByteBuffer
+import java.util.concurrent.ArrayBlockingQueue
+
+/**
+ * A thread-safe pool of reusable [IppInputStream] and [IppOutputStream] objects, for callers reading or writing
+ * many packets, so that buffers are not allocated for every packet.
+ *
+ * Streams are obtained with [input] or [output] and should be given back with [release] once no longer in use.
+ * Released streams must not be closed or used again by the caller. At most [capacity] streams of each kind are
+ * retained; any others released are left for garbage collection.
+ */
+class IppStreamPool @JvmOverloads constructor(
+    /** Maximum number of streams of each kind retained by this pool. */
+    val capacity: Int = DEFAULT_CAPACITY
+) {
+    private val inputs = ArrayBlockingQueue<IppInputStream>(capacity)
+    private val outputs = ArrayBlockingQueue<IppOutputStream>(capacity)
+
+    /** Return an [IppInputStream] reading from [inputStream]. */
+    fun input(inputStream: InputStream): IppInputStream =
+        inputs.poll()?.restart(inputStream) ?: IppInputStream(inputStream)
+
+    /** Return an [IppInputStream] reading from [buffer], starting at its current position. */
+    fun input(buffer: ByteBuffer): IppInputStream =
+        inputs.poll()?.restart(buffer) ?: IppInputStream(buffer)
+
+    /** Return an [IppOutputStream] writing to [outputStream]. */
+    fun output(outputStream: OutputStream): IppOutputStream =
+        outputs.poll()?.restart(outputStream) ?: IppOutputStream(outputStream)
+
+    /** Return an [IppOutputStream] writing into [buffer], starting at its current position. */
+    fun output(buffer: ByteBuffer): IppOutputStream =
+        outputs.poll()?.restart(buffer) ?: IppOutputStream(buffer)
+
+    /** Return [stream] to this pool for reuse. Its current source is not closed. */
+    fun release(stream: IppInputStream) {
+        // Let go of the source so that the pool does not keep it from being collected
+        inputs.offer(stream.detach())
+    }
+
+    /** Return [stream] to this pool for reuse. Its current destination is not flushed or closed. */
+    fun release(stream: IppOutputStream) {
+        outputs.offer(stream.detach())
+    }
+
+    companion object {
+        /** Default maximum number of streams of each kind retained. */
+        const val DEFAULT_CAPACITY = 16
+    }
+}
@@ -1,8 +1,10 @@
-// © Copyright 2020 - 2021 HP Development Company, L.P.
+// © Copyright 2020 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
 
+import java.util.concurrent.ConcurrentHashMap
+
 /** Utility object for reading/writing IPP protocol elements. */
 internal object IppStreams {
     const val INT_LENGTH = 4
@@ -11,7 +13,31 @@ internal object IppStreams {
     const val TAG_LEN = 2
 
     /** Return the length of this string as it would be encoded in the output stream. */
-    fun stringLength(string: String) = LENGTH_LENGTH + string.toByteArray(Charsets.UTF_8).size
+    fun stringLength(string: String) = LENGTH_LENGTH + utf8Length(string)
+
+    /** Return the number of bytes in the UTF-8 encoding of [string], without encoding it. */
+    @Suppress("MagicNumber")
+    fun utf8Length(string: String): Int {
+        var length = string.length
+        var index = 0
+        while (index < string.length) {
+            val char = string[index]
+            when {
+                char.code < 0x80 -> Unit
+                char.code < 0x800 -> length += 1
+                !char.isSurrogate() -> length += 2
+                char.isHighSurrogate() && index + 1 < string.length && string[index + 1].isLowSurrogate() -> {
+                    // A surrogate pair encodes as 4 bytes
+                    length += 2
+                    index++
+                }
+                // An unpaired surrogate is encoded as a single replacement byte
+                else -> Unit
+            }
+            index++
+        }
+        return length
+    }
 
     /** Codecs for core types. */
     val codecs =
@@ -67,8 +93,28 @@ internal object IppStreams {
     /** Map for looking up codecs by native Java class. */
     val clsToCodec = codecs.map { it.cls to it }.toMap()
 
-    /** Map for looking up codecs by [Tag]. */
-    val tagToCodec = Tag.valueTags.map { tag -> tag to codecs.firstOrNull { it.handlesTag(tag) } }
-        .filter { it.second != null }
-        .toMap()
+    /** Codecs for all classes looked up so far, including subclasses of codec classes. */
+    private val clsToCodecCache = ConcurrentHashMap<Class<*>, Codec<out Any>>(clsToCodec)
+
+    /** Table of the codec (if any) reading each single-byte tag code. */
+    private val tagCodeToCodec = arrayOfNulls<Codec<out Any>>(Tag.TAG_CODES).also { table ->
+        for (code in table.indices) {
+            val tag = Tag.fromInt(code) as? ValueTag ?: continue
+            table[code] = codecs.firstOrNull { it.handlesTag(tag) }
+        }
+    }
+
+    /** Return the codec for reading values having [tag], if any. */
+    fun codecOf(tag: ValueTag): Codec<out Any>? =
+        if (tag.code in tagCodeToCodec.indices) {
+            tagCodeToCodec[tag.code]
+        } else {
+            codecs.firstOrNull { it.handlesTag(tag) }
+        }
+
+    /** Return the codec for writing values of [cls], if any. */
+    fun codecOf(cls: Class<*>): Codec<out Any>? =
+        clsToCodecCache[cls] ?: codecs.firstOrNull { it.cls.isAssignableFrom(cls) }?.also {
+            clsToCodecCache.putIfAbsent(cls, it)
+        }
 }
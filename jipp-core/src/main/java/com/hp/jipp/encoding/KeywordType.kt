@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2021 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -19,7 +19,7 @@ open class KeywordType(name: String) : AttributeTypeImpl<String>(name, String::c
                 readString()
             },
             {
-                writeStringValue(it)
+                writeCommonStringValue(it)
             }
         )
     }
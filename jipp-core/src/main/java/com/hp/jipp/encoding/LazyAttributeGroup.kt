@@ -0,0 +1,204 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+import com.hp.jipp.util.ParseError
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/**
+ * An [AttributeGroup] holding encoded attribute data which is only decoded into an [Attribute] the first time it is
+ * accessed. Decoded attributes are retained, so each attribute is decoded at most once.
+ *
+ * Note: because decoding is deferred, a malformed attribute value is reported (as an [IllegalStateException]) when
+ * it is first accessed rather than when the group is read.
+ */
+internal class LazyAttributeGroup private constructor(
+    override val tag: DelimiterTag,
+    /** Encoded attribute data. */
+    private val data: ByteBuffer,
+    /** Attribute names, in order. */
+    private val names: List<String>,
+    /** Position in [data] of the first byte of each attribute. */
+    private val starts: IntArray,
+    /** Position in [data] following the last byte of each attribute. */
+    private val ends: IntArray,
+    /** Position of each name in [names]. */
+    private val index: NameIndex
+) : AttributeGroup, AbstractList<Attribute<*>>() {
+    private val decoded = AtomicReferenceArray<Attribute<*>>(names.size)
+
+    override val size
+        get() = names.size
+
+    override fun get(index: Int): Attribute<*> {
+        decoded[index]?.also { return it }
+        // If another thread decoded the same attribute first, keep its result
+        decoded.compareAndSet(index, null, decode(index))
+        return decoded[index]
+    }
+
+    /** Return the attribute corresponding to the specified [name]. */
+    override operator fun get(name: String): Attribute<*>? = index[name].let { if (it == -1) null else get(it) }
+
+    /** Return the attribute as conforming to the supplied attribute type. */
+    override operator fun <T : Any> get(type: AttributeType<T>): Attribute<T>? =
+        get(type.name)?.let {
+            type.coerce(it)
+        }
+
+    private fun decode(index: Int): Attribute<*> =
+        try {
+            IppInputStream(data.view(starts[index], ends[index])).readNextAttribute()
+                ?: throw ParseError("Missing attribute ${names[index]}")
+        } catch (e: IOException) {
+            throw IllegalStateException("Could not decode ${names[index]}", e)
+        }
+
+    override fun equals(other: Any?) =
+        when {
+            other === this -> true
+            other is AttributeGroup -> other.tag == tag && super.equals(other)
+            other is List<*> -> super.equals(other)
+            else -> false
+        }
+
+    override fun hashCode(): Int {
+        // Note: tag is not included because we might need to hash this with other List objects
+        return super.hashCode()
+    }
+
+    override fun toString(): String {
+        return "AttributeGroup($tag, ${toList()})"
+    }
+
+    /**
+     * Locates the boundaries of each attribute in a group without decoding any values. If [buffer] is supplied,
+     * attribute data is left in place there; otherwise a copy of the raw attribute data is retained.
+     */
+    private class Scanner(private val input: IppInputStream, private val buffer: ByteBuffer?) {
+        private val bytes = if (buffer == null) ByteArrayOutputStream() else null
+        private val copy = bytes?.let { DataOutputStream(it) }
+        private val scratch = if (buffer == null) ByteArray(SCRATCH_SIZE) else null
+        private val names = ArrayList<String>()
+        private val starts = ArrayList<Int>()
+        private val ends = ArrayList<Int>()
+        private val index = NameIndex()
+
+        /** Current position of the input within the attribute data. */
+        private val offset
+            get() = buffer?.position() ?: copy!!.size()
+
+        @Suppress("LoopWithTooManyJumpStatements")
+        fun scan(tag: DelimiterTag): LazyAttributeGroup {
+            while (true) {
+                val start = offset
+                input.mark(IppStreams.BYTE_LENGTH)
+                val attributeTag = input.read().takeIf { it >= 0 }?.let { Tag.fromInt(it) } ?: break
+                if (attributeTag.isDelimiter) {
+                    input.reset()
+                    break
+                }
+                copy?.write(attributeTag.code)
+                val name = readString()
+                skipValues(attributeTag)
+                add(name, start, offset)
+            }
+            return LazyAttributeGroup(
+                tag,
+                bytes?.let { ByteBuffer.wrap(it.toByteArray()) } ?: buffer!!.duplicate(),
+                names,
+                starts.toIntArray(),
+                ends.toIntArray(),
+                index
+            )
+        }
+
+        /** Record an attribute, replacing the position of any earlier attribute having the same name. */
+        private fun add(name: String, start: Int, end: Int) {
+            val position = index.putIfAbsent(name, names.size)
+            if (position == -1) {
+                names.add(name)
+                starts.add(start)
+                ends.add(end)
+            } else {
+                starts[position] = start
+                ends[position] = end
+            }
+        }
+
+        /** Skip all values of the current attribute, including any collection members. */
+        @Suppress("ReturnCount")
+        private fun skipValues(firstTag: Tag) {
+            var valueTag = firstTag
+            var depth = 0
+            while (true) {
+                skip(readLength())
+                when (valueTag) {
+                    Tag.beginCollection -> depth++
+                    Tag.endCollection -> depth--
+                }
+                // Out-of-band attributes have no further values.
+                if (depth == 0 && firstTag.isOutOfBand) return
+
+                // Peek at the next tag and name length to see if they belong to this attribute
+                input.mark(IppStreams.BYTE_LENGTH + IppStreams.LENGTH_LENGTH)
+                val nextTag = input.read().takeIf { it >= 0 }?.let { Tag.fromInt(it) } ?: return
+                if (depth == 0 && nextTag.isEndOfValueStream()) {
+                    input.reset()
+                    return
+                }
+                val nameLength = input.readShort().toInt()
+                input.reset()
+                if (depth == 0 && nameLength != 0) return
+
+                input.read()
+                copy?.write(nextTag.code)
+                skip(readLength())
+                valueTag = nextTag
+            }
+        }
+
+        private fun readLength(): Int =
+            input.readShort().toInt().also { copy?.writeShort(it) }
+
+        private fun readString(): String =
+            if (copy == null) {
+                input.readString()
+            } else {
+                ByteArray(readLength()).also {
+                    input.readFully(it)
+                    copy.write(it)
+                }.let { String(it) }
+            }
+
+        private fun skip(length: Int) {
+            if (copy == null) {
+                if (input.skip(length.toLong()) != length.toLong()) throw ParseError("Value too short")
+            } else {
+                var remaining = length
+                while (remaining > 0) {
+                    val count = minOf(remaining, scratch!!.size)
+                    input.readFully(scratch, 0, count)
+                    copy.write(scratch, 0, count)
+                    remaining -= count
+                }
+            }
+        }
+    }
+
+    companion object {
+        private const val SCRATCH_SIZE = 1024
+
+        /**
+         * Read the attributes of a group from [input], indexing but not decoding them. If [buffer] is the source
+         * of [input] then attribute data is decoded from it in place.
+         */
+        fun read(input: IppInputStream, buffer: ByteBuffer?, tag: DelimiterTag): AttributeGroup =
+            Scanner(input, buffer).scan(tag)
+    }
+}
@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2020 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -20,14 +20,18 @@ open class MutableAttributeGroup @JvmOverloads constructor(
     attributes: List<Attribute<*>> = listOf()
 ) : AttributeGroup, AbstractList<Attribute<*>>() {
 
-    private val map: LinkedHashMap<String, Attribute<*>> = linkedMapOf()
+    /** Attributes in insertion order. */
+    private val ordered = ArrayList<Attribute<*>>()
+
+    /** Position of each attribute in [ordered], by name. */
+    private val positions = HashMap<String, Int>()
 
     init {
         putAll(attributes)
     }
 
     override val size
-        get() = map.size
+        get() = ordered.size
 
     /** Allow a DSL-like syntax where the contents of this group can be mutated. */
     operator fun invoke(mutator: MutableAttributeGroup.() -> Unit) = apply {
@@ -41,51 +45,54 @@ open class MutableAttributeGroup @JvmOverloads constructor(
     operator fun plusAssign(attributes: Iterable<Attribute<*>>) = putAll(attributes)
 
     /** Return the [Attribute] at [index]. */
-    override fun get(index: Int): Attribute<*> = map.values.elementAt(index)
+    override fun get(index: Int): Attribute<*> = ordered[index]
 
     /** Return the [Attribute] having a type of [name]. */
     override operator fun get(name: String) =
-        map[name]
+        positions[name]?.let { ordered[it] }
 
     /** Return the [Attribute] having [type] if any. */
     @Suppress("UNCHECKED_CAST") // We know type corresponds to T because that's all we allow in.
     override fun <T : Any> get(type: AttributeType<T>): Attribute<T>? =
-        map[type.name]?.let { type.coerce(it) }
+        get(type.name)?.let { type.coerce(it) }
+
+    override fun withCoercionCache(): AttributeGroup =
+        groupOf(tag, ordered).withCoercionCache()
 
     /** Assign an attribute from its native value type. */
     operator fun <T : Any> set(type: AttributeType<T>, value: T) {
-        map[type.name] = type.of(value)
+        store(type.of(value))
     }
 
     /** Assign an attribute with multiple values from its native value type. */
     operator fun <T : Any> set(type: AttributeSetType<T>, values: Iterable<T>) {
-        map[type.name] = type.of(values)
+        store(type.of(values))
     }
 
     /** Assign an attribute from its native value type. */
     fun <T : Any> put(type: AttributeType<T>, value: T) {
-        map[type.name] = type.of(value)
+        store(type.of(value))
     }
 
     /** Assign an attribute from one or more values. */
     fun <T : Any> put(type: AttributeSetType<T>, values: Iterable<T>) {
-        map[type.name] = type.of(values)
+        store(type.of(values))
     }
 
     /** Assign an attribute from one or more values. */
     fun <T : Any> put(type: AttributeSetType<T>, value: T, vararg values: T) {
-        map[type.name] = type.of(listOf(value) + values)
+        store(type.of(listOf(value) + values))
     }
 
     /** Put [attribute] into this group. */
     fun <T : Any> put(attribute: Attribute<T>) {
-        map[attribute.name] = attribute
+        store(attribute)
     }
 
     /** Put [attributes] into this group. */
     fun put(vararg attributes: Attribute<*>) {
         for (attribute in attributes) {
-            map[attribute.name] = attribute
+            store(attribute)
         }
     }
 
@@ -122,7 +129,7 @@ open class MutableAttributeGroup @JvmOverloads constructor(
     /** Put [attributes] into this group. */
     fun putAll(attributes: Iterable<Attribute<*>>) {
         attributes.forEach {
-            map[it.name] = it
+            store(it)
         }
     }
 
@@ -205,19 +212,41 @@ open class MutableAttributeGroup @JvmOverloads constructor(
     /** Remove an attribute of the specified [type], returning the removed attribute, if any. */
     @Suppress("UNCHECKED_CAST") // We know type corresponds to T because that's all we allow in.
     fun <T : Any> drop(type: AttributeType<T>): Attribute<T>? =
-        map.remove(type.name) as Attribute<T>?
+        remove(type.name) as Attribute<T>?
 
     /** Remove [attribute], returning true if it was removed. */
     @Suppress("UNCHECKED_CAST") // We know type corresponds to T because that's all we allow in.
     fun drop(attribute: Attribute<*>): Boolean =
-        map.remove(attribute.name) != null
+        remove(attribute.name) != null
 
     operator fun <T : Any> minusAssign(type: AttributeType<T>) {
-        map.remove(type.name)
+        remove(type.name)
     }
 
     operator fun minusAssign(attribute: Attribute<*>) {
-        map.remove(attribute.name)
+        remove(attribute.name)
+    }
+
+    /** Add [attribute], replacing any existing attribute having the same name in its current position. */
+    private fun store(attribute: Attribute<*>) {
+        val position = positions[attribute.name]
+        if (position == null) {
+            positions[attribute.name] = ordered.size
+            ordered.add(attribute)
+        } else {
+            ordered[position] = attribute
+        }
+    }
+
+    /** Remove and return any attribute having [name]. */
+    private fun remove(name: String): Attribute<*>? {
+        val position = positions.remove(name) ?: return null
+        val removed = ordered.removeAt(position)
+        // Attributes following the removed one have moved
+        for (index in position until ordered.size) {
+            positions[ordered[index].name] = index
+        }
+        return removed
     }
 
     /** Return a copy of this object as a non-mutable [AttributeGroup]. */
@@ -226,17 +255,17 @@ open class MutableAttributeGroup @JvmOverloads constructor(
     override fun equals(other: Any?) =
         when {
             other === this -> true
-            other is AttributeGroup -> other.tag == tag && map.values.stringinate() == other.stringinate()
-            other is List<*> -> map.values.stringinate() == other.stringinate()
+            other is AttributeGroup -> other.tag == tag && ordered == other
+            other is List<*> -> ordered == other
             else -> false
         }
 
     override fun hashCode(): Int {
         // Note: tag is not included because we might need to hash this with other List objects
-        return map.values.stringinate().hashCode()
+        return ordered.hashCode()
     }
 
     override fun toString(): String {
-        return "MutableAttributeGroup($tag, ${map.values})"
+        return "MutableAttributeGroup($tag, $ordered)"
     }
 }
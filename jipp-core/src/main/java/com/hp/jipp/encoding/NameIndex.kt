@@ -0,0 +1,77 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+/**
+ * An open-addressed hash index from attribute names to their positions in a list.
+ *
+ * Not thread-safe while being built, but may be read concurrently once complete.
+ */
+internal class NameIndex(expectedSize: Int = MIN_TABLE_SIZE) {
+    private var names = arrayOfNulls<String>(tableSize(expectedSize))
+    private var positions = IntArray(names.size)
+
+    /** Number of names in this index. */
+    var size = 0
+        private set
+
+    /** Return the position of [name], or -1 if not present. */
+    operator fun get(name: String): Int {
+        val mask = names.size - 1
+        var slot = spread(name.hashCode()) and mask
+        while (true) {
+            val found = names[slot] ?: return -1
+            if (found == name) return positions[slot]
+            slot = (slot + 1) and mask
+        }
+    }
+
+    /** Index [name] at [position] and return -1, or if [name] is already indexed, return its existing position. */
+    fun putIfAbsent(name: String, position: Int): Int {
+        if ((size + 1) * 2 > names.size) grow()
+        return insert(name, position).also {
+            if (it == -1) size++
+        }
+    }
+
+    private fun insert(name: String, position: Int): Int {
+        val mask = names.size - 1
+        var slot = spread(name.hashCode()) and mask
+        while (true) {
+            val found = names[slot]
+            if (found == null) {
+                names[slot] = name
+                positions[slot] = position
+                return -1
+            }
+            if (found == name) return positions[slot]
+            slot = (slot + 1) and mask
+        }
+    }
+
+    private fun grow() {
+        val oldNames = names
+        val oldPositions = positions
+        names = arrayOfNulls(oldNames.size * 2)
+        positions = IntArray(names.size)
+        oldNames.forEachIndexed { slot, name ->
+            if (name != null) insert(name, oldPositions[slot])
+        }
+    }
+
+    companion object {
+        private const val MIN_TABLE_SIZE = 8
+        private const val SPREAD_SHIFT = 16
+
+        /** Return a power-of-two table size which holds [count] names at no more than half load. */
+        private fun tableSize(count: Int): Int {
+            var size = MIN_TABLE_SIZE
+            while (size < count * 2) size *= 2
+            return size
+        }
+
+        /** Mix high bits of [hash] into the low bits used to select a slot. */
+        private fun spread(hash: Int) = hash xor (hash ushr SPREAD_SHIFT)
+    }
+}
@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2019 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -12,6 +12,20 @@ interface Stringable {
     fun asString(): String
 }
 
-/** Convert a list of items that might be [Stringable] into strings and leave everything else alone. */
-internal fun Collection<*>.stringinate(): List<*> =
-    map { if (it is Stringable) it.asString() else it }
+/** Multiplier used by [List.hashCode] to combine element hashes. */
+private const val LIST_HASH_MULTIPLIER = 31
+
+/** Convert [value] to a string if it is [Stringable] and leave it alone otherwise. */
+private fun stringinate(value: Any?): Any? =
+    if (value is Stringable) value.asString() else value
+
+/** Return true if this list and [other] hold equal items once any [Stringable] items are converted into strings. */
+internal fun List<*>.stringinatedEquals(other: List<*>): Boolean {
+    if (size != other.size) return false
+    val otherItems = other.iterator()
+    return all { stringinate(it) == stringinate(otherItems.next()) }
+}
+
+/** Return the hash code this list would have if any [Stringable] items were converted into strings. */
+internal fun List<*>.stringinatedHashCode(): Int =
+    fold(1) { hash, item -> LIST_HASH_MULTIPLIER * hash + (stringinate(item)?.hashCode() ?: 0) }
@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2023 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding
@@ -45,7 +45,7 @@ abstract class Tag : Enum() {
         /** Return or create a [Tag] for the supplied code */
         @JvmStatic
         fun fromInt(value: Int): Tag =
-            codeMap[value] ?: run {
+            (if (value in codeTable.indices) codeTable[value] else codeMap[value]) ?: run {
                 when (value) {
                     in delimiterRange -> DelimiterTag(value, "tag(x%x)".format(value))
                     in outOfBandRange -> OutOfBandTag(value, "tag(x%x)".format(value))
@@ -125,5 +125,13 @@ abstract class Tag : Enum() {
         val all = delimiterTags + outOfBandTag + valueTags
 
         private val codeMap: Map<Int, Tag> = toCodeMap(all)
+
+        /** The number of distinct single-byte tag codes. */
+        internal const val TAG_CODES = 0x100
+
+        /** Known tags indexed by code, for codes that fit in a single byte. */
+        private val codeTable = arrayOfNulls<Tag>(TAG_CODES).also { table ->
+            all.filter { it.code in table.indices }.forEach { table[it.code] = it }
+        }
     }
 }
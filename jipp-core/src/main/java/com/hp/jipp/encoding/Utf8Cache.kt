@@ -0,0 +1,63 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Caches UTF-8 conversions of the short strings which recur in nearly every packet: attribute names and keywords.
+ *
+ * Both caches are bounded so that arbitrary input cannot grow them without limit.
+ */
+internal object Utf8Cache {
+    /** Maximum number of encoded strings retained. */
+    private const val MAX_ENCODED = 4096
+    /** Number of decoded strings retained (a power of two). */
+    private const val DECODED_SLOTS = 1024
+    /** Maximum length of a string or byte sequence worth caching. */
+    private const val MAX_LENGTH = 64
+    private const val HASH_MULTIPLIER = 31
+    private const val HASH_SHIFT = 16
+
+    private val encoded = ConcurrentHashMap<String, ByteArray>()
+
+    /** A decoded string along with its encoded form. */
+    private class Decoded(val bytes: ByteArray, val string: String)
+
+    // Slots are overwritten on collision. Entries are immutable so unsynchronized access is safe.
+    private val decoded = arrayOfNulls<Decoded>(DECODED_SLOTS)
+
+    /** Return the UTF-8 encoding of [string]. The returned array must not be modified. */
+    fun encode(string: String): ByteArray =
+        encoded[string] ?: string.toByteArray(Charsets.UTF_8).also {
+            if (string.length <= MAX_LENGTH && encoded.size < MAX_ENCODED) {
+                encoded.putIfAbsent(string, it)
+            }
+        }
+
+    /** Return the string having the UTF-8 encoding found in [bytes] from [offset] for [length] bytes. */
+    fun decode(bytes: ByteArray, offset: Int, length: Int): String {
+        if (length > MAX_LENGTH) return String(bytes, offset, length, Charsets.UTF_8)
+
+        var hash = 0
+        for (i in offset until offset + length) {
+            hash = hash * HASH_MULTIPLIER + bytes[i]
+        }
+        val slot = (hash xor (hash ushr HASH_SHIFT)) and (DECODED_SLOTS - 1)
+        decoded[slot]?.also {
+            if (it.matches(bytes, offset, length)) return it.string
+        }
+        return String(bytes, offset, length, Charsets.UTF_8).also {
+            decoded[slot] = Decoded(bytes.copyOfRange(offset, offset + length), it)
+        }
+    }
+
+    private fun Decoded.matches(other: ByteArray, offset: Int, length: Int): Boolean {
+        if (bytes.size != length) return false
+        for (i in 0 until length) {
+            if (bytes[i] != other[offset + i]) return false
+        }
+        return true
+    }
+}
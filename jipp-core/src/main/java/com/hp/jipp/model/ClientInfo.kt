@@ -38,14 +38,16 @@ constructor(
 
     /** Defines types for each member of [ClientInfo]. */
     companion object : AttributeCollection.Converter<ClientInfo> {
-        override fun convert(attributes: List<Attribute<*>>): ClientInfo =
-            ClientInfo(
-                extractOne(attributes, clientName)?.value,
-                extractOne(attributes, clientPatches)?.value,
-                extractOne(attributes, clientStringVersion)?.value,
-                extractOne(attributes, clientType),
-                extractOne(attributes, clientVersion),
+        override fun convert(attributes: List<Attribute<*>>): ClientInfo {
+            val members = members(attributes)
+            return ClientInfo(
+                extractOne(members, clientName)?.value,
+                extractOne(members, clientPatches)?.value,
+                extractOne(members, clientStringVersion)?.value,
+                extractOne(members, clientType),
+                extractOne(members, clientVersion),
             )
+        }
         override val cls = ClientInfo::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
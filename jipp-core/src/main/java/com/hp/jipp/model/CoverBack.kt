@@ -38,12 +38,14 @@ constructor(
 
     /** Defines types for each member of [CoverBack]. */
     companion object : AttributeCollection.Converter<CoverBack> {
-        override fun convert(attributes: List<Attribute<*>>): CoverBack =
-            CoverBack(
-                extractOne(attributes, coverType),
-                extractOne(attributes, media),
-                extractOne(attributes, mediaCol),
+        override fun convert(attributes: List<Attribute<*>>): CoverBack {
+            val members = members(attributes)
+            return CoverBack(
+                extractOne(members, coverType),
+                extractOne(members, media),
+                extractOne(members, mediaCol),
             )
+        }
         override val cls = CoverBack::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -38,12 +38,14 @@ constructor(
 
     /** Defines types for each member of [CoverFront]. */
     companion object : AttributeCollection.Converter<CoverFront> {
-        override fun convert(attributes: List<Attribute<*>>): CoverFront =
-            CoverFront(
-                extractOne(attributes, coverType),
-                extractOne(attributes, media),
-                extractOne(attributes, mediaCol),
+        override fun convert(attributes: List<Attribute<*>>): CoverFront {
+            val members = members(attributes)
+            return CoverFront(
+                extractOne(members, coverType),
+                extractOne(members, media),
+                extractOne(members, mediaCol),
             )
+        }
         override val cls = CoverFront::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
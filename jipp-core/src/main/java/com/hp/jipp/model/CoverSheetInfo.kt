@@ -40,15 +40,17 @@ constructor(
 
     /** Defines types for each member of [CoverSheetInfo]. */
     companion object : AttributeCollection.Converter<CoverSheetInfo> {
-        override fun convert(attributes: List<Attribute<*>>): CoverSheetInfo =
-            CoverSheetInfo(
-                extractOne(attributes, fromName)?.value,
-                extractOne(attributes, logo),
-                extractOne(attributes, message)?.value,
-                extractOne(attributes, organizationName)?.value,
-                extractOne(attributes, subject)?.value,
-                extractOne(attributes, toName)?.value,
+        override fun convert(attributes: List<Attribute<*>>): CoverSheetInfo {
+            val members = members(attributes)
+            return CoverSheetInfo(
+                extractOne(members, fromName)?.value,
+                extractOne(members, logo),
+                extractOne(members, message)?.value,
+                extractOne(members, organizationName)?.value,
+                extractOne(members, subject)?.value,
+                extractOne(members, toName)?.value,
             )
+        }
         override val cls = CoverSheetInfo::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -39,14 +39,16 @@ constructor(
 
     /** Defines types for each member of [DestinationAccesses]. */
     companion object : AttributeCollection.Converter<DestinationAccesses> {
-        override fun convert(attributes: List<Attribute<*>>): DestinationAccesses =
-            DestinationAccesses(
-                extractAll(attributes, accessOauthToken),
-                extractOne(attributes, accessOauthUri),
-                extractOne(attributes, accessPassword)?.value,
-                extractOne(attributes, accessPin)?.value,
-                extractOne(attributes, accessUserName)?.value,
+        override fun convert(attributes: List<Attribute<*>>): DestinationAccesses {
+            val members = members(attributes)
+            return DestinationAccesses(
+                extractAll(members, accessOauthToken),
+                extractOne(members, accessOauthUri),
+                extractOne(members, accessPassword)?.value,
+                extractOne(members, accessPin)?.value,
+                extractOne(members, accessUserName)?.value,
             )
+        }
         override val cls = DestinationAccesses::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
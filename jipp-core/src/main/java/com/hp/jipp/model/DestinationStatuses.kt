@@ -34,12 +34,14 @@ constructor(
 
     /** Defines types for each member of [DestinationStatuses]. */
     companion object : AttributeCollection.Converter<DestinationStatuses> {
-        override fun convert(attributes: List<Attribute<*>>): DestinationStatuses =
-            DestinationStatuses(
-                extractOne(attributes, destinationUri),
-                extractOne(attributes, imagesCompleted),
-                extractOne(attributes, transmissionStatus),
+        override fun convert(attributes: List<Attribute<*>>): DestinationStatuses {
+            val members = members(attributes)
+            return DestinationStatuses(
+                extractOne(members, destinationUri),
+                extractOne(members, imagesCompleted),
+                extractOne(members, transmissionStatus),
             )
+        }
         override val cls = DestinationStatuses::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
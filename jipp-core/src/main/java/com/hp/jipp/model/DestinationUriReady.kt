@@ -49,19 +49,21 @@ constructor(
 
     /** Defines types for each member of [DestinationUriReady]. */
     companion object : AttributeCollection.Converter<DestinationUriReady> {
-        override fun convert(attributes: List<Attribute<*>>): DestinationUriReady =
-            DestinationUriReady(
-                extractAll(attributes, destinationAttributes),
-                extractAll(attributes, destinationAttributesSupported),
-                extractOne(attributes, destinationInfo)?.value,
-                extractOne(attributes, destinationIsDirectory),
-                extractAll(attributes, destinationMandatoryAccessAttributes),
-                extractOne(attributes, destinationName)?.value,
-                extractAll(attributes, destinationOauthScope),
-                extractAll(attributes, destinationOauthToken),
-                extractOne(attributes, destinationOauthUri),
-                extractOne(attributes, destinationUri),
+        override fun convert(attributes: List<Attribute<*>>): DestinationUriReady {
+            val members = members(attributes)
+            return DestinationUriReady(
+                extractAll(members, destinationAttributes),
+                extractAll(members, destinationAttributesSupported),
+                extractOne(members, destinationInfo)?.value,
+                extractOne(members, destinationIsDirectory),
+                extractAll(members, destinationMandatoryAccessAttributes),
+                extractOne(members, destinationName)?.value,
+                extractAll(members, destinationOauthScope),
+                extractAll(members, destinationOauthToken),
+                extractOne(members, destinationOauthUri),
+                extractOne(members, destinationUri),
             )
+        }
         override val cls = DestinationUriReady::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
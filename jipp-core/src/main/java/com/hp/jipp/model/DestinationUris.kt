@@ -39,14 +39,16 @@ constructor(
 
     /** Defines types for each member of [DestinationUris]. */
     companion object : AttributeCollection.Converter<DestinationUris> {
-        override fun convert(attributes: List<Attribute<*>>): DestinationUris =
-            DestinationUris(
-                extractAll(attributes, destinationAttributes),
-                extractOne(attributes, destinationUri),
-                extractOne(attributes, postDialString)?.value,
-                extractOne(attributes, preDialString)?.value,
-                extractOne(attributes, t33Subaddress),
+        override fun convert(attributes: List<Attribute<*>>): DestinationUris {
+            val members = members(attributes)
+            return DestinationUris(
+                extractAll(members, destinationAttributes),
+                extractOne(members, destinationUri),
+                extractOne(members, postDialString)?.value,
+                extractOne(members, preDialString)?.value,
+                extractOne(members, t33Subaddress),
             )
+        }
         override val cls = DestinationUris::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -40,14 +40,16 @@ constructor(
 
     /** Defines types for each member of [DocumentAccess]. */
     companion object : AttributeCollection.Converter<DocumentAccess> {
-        override fun convert(attributes: List<Attribute<*>>): DocumentAccess =
-            DocumentAccess(
-                extractAll(attributes, accessOauthToken),
-                extractOne(attributes, accessOauthUri),
-                extractOne(attributes, accessPassword)?.value,
-                extractOne(attributes, accessPin)?.value,
-                extractOne(attributes, accessUserName)?.value,
+        override fun convert(attributes: List<Attribute<*>>): DocumentAccess {
+            val members = members(attributes)
+            return DocumentAccess(
+                extractAll(members, accessOauthToken),
+                extractOne(members, accessOauthUri),
+                extractOne(members, accessPassword)?.value,
+                extractOne(members, accessPin)?.value,
+                extractOne(members, accessUserName)?.value,
             )
+        }
         override val cls = DocumentAccess::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
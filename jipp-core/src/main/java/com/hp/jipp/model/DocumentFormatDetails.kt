@@ -37,13 +37,15 @@ constructor(
 
     /** Defines types for each member of [DocumentFormatDetails]. */
     companion object : AttributeCollection.Converter<DocumentFormatDetails> {
-        override fun convert(attributes: List<Attribute<*>>): DocumentFormatDetails =
-            DocumentFormatDetails(
-                extractOne(attributes, documentSourceApplicationName)?.value,
-                extractOne(attributes, documentSourceApplicationVersion)?.value,
-                extractOne(attributes, documentSourceOsName)?.value,
-                extractOne(attributes, documentSourceOsVersion)?.value,
+        override fun convert(attributes: List<Attribute<*>>): DocumentFormatDetails {
+            val members = members(attributes)
+            return DocumentFormatDetails(
+                extractOne(members, documentSourceApplicationName)?.value,
+                extractOne(members, documentSourceApplicationVersion)?.value,
+                extractOne(members, documentSourceOsName)?.value,
+                extractOne(members, documentSourceOsVersion)?.value,
             )
+        }
         override val cls = DocumentFormatDetails::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
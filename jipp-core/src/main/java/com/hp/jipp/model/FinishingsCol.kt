@@ -59,23 +59,25 @@ constructor(
 
     /** Defines types for each member of [FinishingsCol]. */
     companion object : AttributeCollection.Converter<FinishingsCol> {
-        override fun convert(attributes: List<Attribute<*>>): FinishingsCol =
-            FinishingsCol(
-                extractOne(attributes, baling),
-                extractOne(attributes, binding),
-                extractOne(attributes, coating),
-                extractOne(attributes, covering),
-                extractOne(attributes, finishingTemplate),
-                extractAll(attributes, folding),
-                extractOne(attributes, impositionTemplate),
-                extractOne(attributes, laminating),
-                extractOne(attributes, mediaSheetsSupported),
-                extractOne(attributes, mediaSize),
-                extractOne(attributes, mediaSizeName),
-                extractOne(attributes, punching),
-                extractOne(attributes, stitching),
-                extractAll(attributes, trimming),
+        override fun convert(attributes: List<Attribute<*>>): FinishingsCol {
+            val members = members(attributes)
+            return FinishingsCol(
+                extractOne(members, baling),
+                extractOne(members, binding),
+                extractOne(members, coating),
+                extractOne(members, covering),
+                extractOne(members, finishingTemplate),
+                extractAll(members, folding),
+                extractOne(members, impositionTemplate),
+                extractOne(members, laminating),
+                extractOne(members, mediaSheetsSupported),
+                extractOne(members, mediaSize),
+                extractOne(members, mediaSizeName),
+                extractOne(members, punching),
+                extractOne(members, stitching),
+                extractAll(members, trimming),
             )
+        }
         override val cls = FinishingsCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -119,11 +121,13 @@ constructor(
 
         /** Defines types for each member of [Baling]. */
         companion object : AttributeCollection.Converter<Baling> {
-            override fun convert(attributes: List<Attribute<*>>): Baling =
-                Baling(
-                    extractOne(attributes, balingType),
-                    extractOne(attributes, balingWhen),
+            override fun convert(attributes: List<Attribute<*>>): Baling {
+                val members = members(attributes)
+                return Baling(
+                    extractOne(members, balingType),
+                    extractOne(members, balingWhen),
                 )
+            }
             override val cls = Baling::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -157,11 +161,13 @@ constructor(
 
         /** Defines types for each member of [Binding]. */
         companion object : AttributeCollection.Converter<Binding> {
-            override fun convert(attributes: List<Attribute<*>>): Binding =
-                Binding(
-                    extractOne(attributes, bindingReferenceEdge),
-                    extractOne(attributes, bindingType),
+            override fun convert(attributes: List<Attribute<*>>): Binding {
+                val members = members(attributes)
+                return Binding(
+                    extractOne(members, bindingReferenceEdge),
+                    extractOne(members, bindingType),
                 )
+            }
             override val cls = Binding::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -195,11 +201,13 @@ constructor(
 
         /** Defines types for each member of [Coating]. */
         companion object : AttributeCollection.Converter<Coating> {
-            override fun convert(attributes: List<Attribute<*>>): Coating =
-                Coating(
-                    extractOne(attributes, coatingSides),
-                    extractOne(attributes, coatingType),
+            override fun convert(attributes: List<Attribute<*>>): Coating {
+                val members = members(attributes)
+                return Coating(
+                    extractOne(members, coatingSides),
+                    extractOne(members, coatingType),
                 )
+            }
             override val cls = Coating::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -230,10 +238,12 @@ constructor(
 
         /** Defines types for each member of [Covering]. */
         companion object : AttributeCollection.Converter<Covering> {
-            override fun convert(attributes: List<Attribute<*>>): Covering =
-                Covering(
-                    extractOne(attributes, coveringName),
+            override fun convert(attributes: List<Attribute<*>>): Covering {
+                val members = members(attributes)
+                return Covering(
+                    extractOne(members, coveringName),
                 )
+            }
             override val cls = Covering::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -268,12 +278,14 @@ constructor(
 
         /** Defines types for each member of [Folding]. */
         companion object : AttributeCollection.Converter<Folding> {
-            override fun convert(attributes: List<Attribute<*>>): Folding =
-                Folding(
-                    extractOne(attributes, foldingDirection),
-                    extractOne(attributes, foldingOffset),
-                    extractOne(attributes, foldingReferenceEdge),
+            override fun convert(attributes: List<Attribute<*>>): Folding {
+                val members = members(attributes)
+                return Folding(
+                    extractOne(members, foldingDirection),
+                    extractOne(members, foldingOffset),
+                    extractOne(members, foldingReferenceEdge),
                 )
+            }
             override val cls = Folding::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -308,11 +320,13 @@ constructor(
 
         /** Defines types for each member of [Laminating]. */
         companion object : AttributeCollection.Converter<Laminating> {
-            override fun convert(attributes: List<Attribute<*>>): Laminating =
-                Laminating(
-                    extractOne(attributes, laminatingSides),
-                    extractOne(attributes, laminatingType),
+            override fun convert(attributes: List<Attribute<*>>): Laminating {
+                val members = members(attributes)
+                return Laminating(
+                    extractOne(members, laminatingSides),
+                    extractOne(members, laminatingType),
                 )
+            }
             override val cls = Laminating::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -344,11 +358,13 @@ constructor(
 
         /** Defines types for each member of [MediaSize]. */
         companion object : AttributeCollection.Converter<MediaSize> {
-            override fun convert(attributes: List<Attribute<*>>): MediaSize =
-                MediaSize(
-                    extractOne(attributes, xDimension),
-                    extractOne(attributes, yDimension),
+            override fun convert(attributes: List<Attribute<*>>): MediaSize {
+                val members = members(attributes)
+                return MediaSize(
+                    extractOne(members, xDimension),
+                    extractOne(members, yDimension),
                 )
+            }
             override val cls = MediaSize::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -383,12 +399,14 @@ constructor(
 
         /** Defines types for each member of [Punching]. */
         companion object : AttributeCollection.Converter<Punching> {
-            override fun convert(attributes: List<Attribute<*>>): Punching =
-                Punching(
-                    extractAll(attributes, punchingLocations),
-                    extractOne(attributes, punchingOffset),
-                    extractOne(attributes, punchingReferenceEdge),
+            override fun convert(attributes: List<Attribute<*>>): Punching {
+                val members = members(attributes)
+                return Punching(
+                    extractAll(members, punchingLocations),
+                    extractOne(members, punchingOffset),
+                    extractOne(members, punchingReferenceEdge),
                 )
+            }
             override val cls = Punching::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -429,14 +447,16 @@ constructor(
 
         /** Defines types for each member of [Stitching]. */
         companion object : AttributeCollection.Converter<Stitching> {
-            override fun convert(attributes: List<Attribute<*>>): Stitching =
-                Stitching(
-                    extractOne(attributes, stitchingAngle),
-                    extractAll(attributes, stitchingLocations),
-                    extractOne(attributes, stitchingMethod),
-                    extractOne(attributes, stitchingOffset),
-                    extractOne(attributes, stitchingReferenceEdge),
+            override fun convert(attributes: List<Attribute<*>>): Stitching {
+                val members = members(attributes)
+                return Stitching(
+                    extractOne(members, stitchingAngle),
+                    extractAll(members, stitchingLocations),
+                    extractOne(members, stitchingMethod),
+                    extractOne(members, stitchingOffset),
+                    extractOne(members, stitchingReferenceEdge),
                 )
+            }
             override val cls = Stitching::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -478,13 +498,15 @@ constructor(
 
         /** Defines types for each member of [Trimming]. */
         companion object : AttributeCollection.Converter<Trimming> {
-            override fun convert(attributes: List<Attribute<*>>): Trimming =
-                Trimming(
-                    extractOne(attributes, trimmingOffset),
-                    extractOne(attributes, trimmingReferenceEdge),
-                    extractOne(attributes, trimmingType),
-                    extractOne(attributes, trimmingWhen),
+            override fun convert(attributes: List<Attribute<*>>): Trimming {
+                val members = members(attributes)
+                return Trimming(
+                    extractOne(members, trimmingOffset),
+                    extractOne(members, trimmingReferenceEdge),
+                    extractOne(members, trimmingType),
+                    extractOne(members, trimmingWhen),
                 )
+            }
             override val cls = Trimming::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -44,17 +44,19 @@ constructor(
 
     /** Defines types for each member of [ImpressionsCol]. */
     companion object : AttributeCollection.Converter<ImpressionsCol> {
-        override fun convert(attributes: List<Attribute<*>>): ImpressionsCol =
-            ImpressionsCol(
-                extractOne(attributes, blank),
-                extractOne(attributes, blankTwoSided),
-                extractOne(attributes, fullColor),
-                extractOne(attributes, fullColorTwoSided),
-                extractOne(attributes, highlightColor),
-                extractOne(attributes, highlightColorTwoSided),
-                extractOne(attributes, monochrome),
-                extractOne(attributes, monochromeTwoSided),
+        override fun convert(attributes: List<Attribute<*>>): ImpressionsCol {
+            val members = members(attributes)
+            return ImpressionsCol(
+                extractOne(members, blank),
+                extractOne(members, blankTwoSided),
+                extractOne(members, fullColor),
+                extractOne(members, fullColorTwoSided),
+                extractOne(members, highlightColor),
+                extractOne(members, highlightColorTwoSided),
+                extractOne(members, monochrome),
+                extractOne(members, monochromeTwoSided),
             )
+        }
         override val cls = ImpressionsCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
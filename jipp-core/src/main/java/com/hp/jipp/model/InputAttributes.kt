@@ -70,27 +70,29 @@ constructor(
 
     /** Defines types for each member of [InputAttributes]. */
     companion object : AttributeCollection.Converter<InputAttributes> {
-        override fun convert(attributes: List<Attribute<*>>): InputAttributes =
-            InputAttributes(
-                extractOne(attributes, inputAutoScaling),
-                extractOne(attributes, inputAutoSkewCorrection),
-                extractOne(attributes, inputBrightness),
-                extractOne(attributes, inputColorMode),
-                extractOne(attributes, inputContentType),
-                extractOne(attributes, inputContrast),
-                extractOne(attributes, inputFilmScanMode),
-                extractOne(attributes, inputImagesToTransfer),
-                extractOne(attributes, inputMedia),
-                extractOne(attributes, inputOrientationRequested),
-                extractOne(attributes, inputQuality),
-                extractOne(attributes, inputResolution),
-                extractOne(attributes, inputScalingHeight),
-                extractOne(attributes, inputScalingWidth),
-                extractAll(attributes, inputScanRegions),
-                extractOne(attributes, inputSharpness),
-                extractOne(attributes, inputSides),
-                extractOne(attributes, inputSource),
+        override fun convert(attributes: List<Attribute<*>>): InputAttributes {
+            val members = members(attributes)
+            return InputAttributes(
+                extractOne(members, inputAutoScaling),
+                extractOne(members, inputAutoSkewCorrection),
+                extractOne(members, inputBrightness),
+                extractOne(members, inputColorMode),
+                extractOne(members, inputContentType),
+                extractOne(members, inputContrast),
+                extractOne(members, inputFilmScanMode),
+                extractOne(members, inputImagesToTransfer),
+                extractOne(members, inputMedia),
+                extractOne(members, inputOrientationRequested),
+                extractOne(members, inputQuality),
+                extractOne(members, inputResolution),
+                extractOne(members, inputScalingHeight),
+                extractOne(members, inputScalingWidth),
+                extractAll(members, inputScanRegions),
+                extractOne(members, inputSharpness),
+                extractOne(members, inputSides),
+                extractOne(members, inputSource),
             )
+        }
         override val cls = InputAttributes::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -146,13 +148,15 @@ constructor(
 
         /** Defines types for each member of [InputScanRegions]. */
         companion object : AttributeCollection.Converter<InputScanRegions> {
-            override fun convert(attributes: List<Attribute<*>>): InputScanRegions =
-                InputScanRegions(
-                    extractOne(attributes, xDimension),
-                    extractOne(attributes, xOrigin),
-                    extractOne(attributes, yDimension),
-                    extractOne(attributes, yOrigin),
+            override fun convert(attributes: List<Attribute<*>>): InputScanRegions {
+                val members = members(attributes)
+                return InputScanRegions(
+                    extractOne(members, xDimension),
+                    extractOne(members, xOrigin),
+                    extractOne(members, yDimension),
+                    extractOne(members, yOrigin),
                 )
+            }
             override val cls = InputScanRegions::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -36,13 +36,15 @@ constructor(
 
     /** Defines types for each member of [InputScanRegionsSupported]. */
     companion object : AttributeCollection.Converter<InputScanRegionsSupported> {
-        override fun convert(attributes: List<Attribute<*>>): InputScanRegionsSupported =
-            InputScanRegionsSupported(
-                extractOne(attributes, xDimension),
-                extractOne(attributes, xOrigin),
-                extractOne(attributes, yDimension),
-                extractOne(attributes, yOrigin),
+        override fun convert(attributes: List<Attribute<*>>): InputScanRegionsSupported {
+            val members = members(attributes)
+            return InputScanRegionsSupported(
+                extractOne(members, xDimension),
+                extractOne(members, xOrigin),
+                extractOne(members, yDimension),
+                extractOne(members, yOrigin),
             )
+        }
         override val cls = InputScanRegionsSupported::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -37,13 +37,15 @@ constructor(
 
     /** Defines types for each member of [InsertSheet]. */
     companion object : AttributeCollection.Converter<InsertSheet> {
-        override fun convert(attributes: List<Attribute<*>>): InsertSheet =
-            InsertSheet(
-                extractOne(attributes, insertAfterPageNumber),
-                extractOne(attributes, insertCount),
-                extractOne(attributes, media),
-                extractOne(attributes, mediaCol),
+        override fun convert(attributes: List<Attribute<*>>): InsertSheet {
+            val members = members(attributes)
+            return InsertSheet(
+                extractOne(members, insertAfterPageNumber),
+                extractOne(members, insertCount),
+                extractOne(members, media),
+                extractOne(members, mediaCol),
             )
+        }
         override val cls = InsertSheet::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -41,13 +41,15 @@ constructor(
 
     /** Defines types for each member of [JobAccountingSheets]. */
     companion object : AttributeCollection.Converter<JobAccountingSheets> {
-        override fun convert(attributes: List<Attribute<*>>): JobAccountingSheets =
-            JobAccountingSheets(
-                extractOne(attributes, jobAccountingOutputBin),
-                extractOne(attributes, jobAccountingSheetsType),
-                extractOne(attributes, media),
-                extractOne(attributes, mediaCol),
+        override fun convert(attributes: List<Attribute<*>>): JobAccountingSheets {
+            val members = members(attributes)
+            return JobAccountingSheets(
+                extractOne(members, jobAccountingOutputBin),
+                extractOne(members, jobAccountingSheetsType),
+                extractOne(members, media),
+                extractOne(members, mediaCol),
             )
+        }
         override val cls = JobAccountingSheets::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -33,14 +33,16 @@ constructor(
 
     /** Defines types for each member of [JobConstraintsSupported]. */
     companion object : AttributeCollection.Converter<JobConstraintsSupported> {
-        override fun convert(attributes: List<Attribute<*>>): JobConstraintsSupported =
-            JobConstraintsSupported(
-                extractOne(attributes, resolverName)?.value,
+        override fun convert(attributes: List<Attribute<*>>): JobConstraintsSupported {
+            val members = members(attributes)
+            return JobConstraintsSupported(
+                extractOne(members, resolverName)?.value,
                 groupOf(
                     Tag.jobAttributes,
                     attributes.filterNot { it.name == resolverName.name }
                 ),
             )
+        }
         override val cls = JobConstraintsSupported::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
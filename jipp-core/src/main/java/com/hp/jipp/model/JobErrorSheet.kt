@@ -40,13 +40,15 @@ constructor(
 
     /** Defines types for each member of [JobErrorSheet]. */
     companion object : AttributeCollection.Converter<JobErrorSheet> {
-        override fun convert(attributes: List<Attribute<*>>): JobErrorSheet =
-            JobErrorSheet(
-                extractOne(attributes, jobErrorSheetType),
-                extractOne(attributes, jobErrorSheetWhen),
-                extractOne(attributes, media),
-                extractOne(attributes, mediaCol),
+        override fun convert(attributes: List<Attribute<*>>): JobErrorSheet {
+            val members = members(attributes)
+            return JobErrorSheet(
+                extractOne(members, jobErrorSheetType),
+                extractOne(members, jobErrorSheetWhen),
+                extractOne(members, media),
+                extractOne(members, mediaCol),
             )
+        }
         override val cls = JobErrorSheet::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
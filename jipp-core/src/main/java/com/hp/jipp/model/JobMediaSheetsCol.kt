@@ -44,17 +44,19 @@ constructor(
 
     /** Defines types for each member of [JobMediaSheetsCol]. */
     companion object : AttributeCollection.Converter<JobMediaSheetsCol> {
-        override fun convert(attributes: List<Attribute<*>>): JobMediaSheetsCol =
-            JobMediaSheetsCol(
-                extractOne(attributes, blank),
-                extractOne(attributes, blankTwoSided),
-                extractOne(attributes, fullColor),
-                extractOne(attributes, fullColorTwoSided),
-                extractOne(attributes, highlightColor),
-                extractOne(attributes, highlightColorTwoSided),
-                extractOne(attributes, monochrome),
-                extractOne(attributes, monochromeTwoSided),
+        override fun convert(attributes: List<Attribute<*>>): JobMediaSheetsCol {
+            val members = members(attributes)
+            return JobMediaSheetsCol(
+                extractOne(members, blank),
+                extractOne(members, blankTwoSided),
+                extractOne(members, fullColor),
+                extractOne(members, fullColorTwoSided),
+                extractOne(members, highlightColor),
+                extractOne(members, highlightColorTwoSided),
+                extractOne(members, monochrome),
+                extractOne(members, monochromeTwoSided),
             )
+        }
         override val cls = JobMediaSheetsCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -34,12 +34,14 @@ constructor(
 
     /** Defines types for each member of [JobPagesCol]. */
     companion object : AttributeCollection.Converter<JobPagesCol> {
-        override fun convert(attributes: List<Attribute<*>>): JobPagesCol =
-            JobPagesCol(
-                extractOne(attributes, blank),
-                extractOne(attributes, fullColor),
-                extractOne(attributes, monochrome),
+        override fun convert(attributes: List<Attribute<*>>): JobPagesCol {
+            val members = members(attributes)
+            return JobPagesCol(
+                extractOne(members, blank),
+                extractOne(members, fullColor),
+                extractOne(members, monochrome),
             )
+        }
         override val cls = JobPagesCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
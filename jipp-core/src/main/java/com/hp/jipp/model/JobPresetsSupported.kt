@@ -33,11 +33,13 @@ constructor(
 
     /** Defines types for each member of [JobPresetsSupported]. */
     companion object : AttributeCollection.Converter<JobPresetsSupported> {
-        override fun convert(attributes: List<Attribute<*>>): JobPresetsSupported =
-            JobPresetsSupported(
-                extractOne(attributes, presetCategory),
-                extractOne(attributes, presetName),
+        override fun convert(attributes: List<Attribute<*>>): JobPresetsSupported {
+            val members = members(attributes)
+            return JobPresetsSupported(
+                extractOne(members, presetCategory),
+                extractOne(members, presetName),
             )
+        }
         override val cls = JobPresetsSupported::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
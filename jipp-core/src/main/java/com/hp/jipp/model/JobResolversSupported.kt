@@ -33,14 +33,16 @@ constructor(
 
     /** Defines types for each member of [JobResolversSupported]. */
     companion object : AttributeCollection.Converter<JobResolversSupported> {
-        override fun convert(attributes: List<Attribute<*>>): JobResolversSupported =
-            JobResolversSupported(
-                extractOne(attributes, resolverName)?.value,
+        override fun convert(attributes: List<Attribute<*>>): JobResolversSupported {
+            val members = members(attributes)
+            return JobResolversSupported(
+                extractOne(members, resolverName)?.value,
                 groupOf(
                     Tag.jobAttributes,
                     attributes.filterNot { it.name == resolverName.name }
                 ),
             )
+        }
         override val cls = JobResolversSupported::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -33,11 +33,13 @@ constructor(
 
     /** Defines types for each member of [JobSaveDisposition]. */
     companion object : AttributeCollection.Converter<JobSaveDisposition> {
-        override fun convert(attributes: List<Attribute<*>>): JobSaveDisposition =
-            JobSaveDisposition(
-                extractOne(attributes, saveDisposition),
-                extractAll(attributes, saveInfo),
+        override fun convert(attributes: List<Attribute<*>>): JobSaveDisposition {
+            val members = members(attributes)
+            return JobSaveDisposition(
+                extractOne(members, saveDisposition),
+                extractAll(members, saveInfo),
             )
+        }
         override val cls = JobSaveDisposition::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -69,12 +71,14 @@ constructor(
 
         /** Defines types for each member of [SaveInfo]. */
         companion object : AttributeCollection.Converter<SaveInfo> {
-            override fun convert(attributes: List<Attribute<*>>): SaveInfo =
-                SaveInfo(
-                    extractOne(attributes, saveDocumentFormat),
-                    extractOne(attributes, saveLocation),
-                    extractOne(attributes, saveName)?.value,
+            override fun convert(attributes: List<Attribute<*>>): SaveInfo {
+                val members = members(attributes)
+                return SaveInfo(
+                    extractOne(members, saveDocumentFormat),
+                    extractOne(members, saveLocation),
+                    extractOne(members, saveName)?.value,
                 )
+            }
             override val cls = SaveInfo::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -37,12 +37,14 @@ constructor(
 
     /** Defines types for each member of [JobSheetsCol]. */
     companion object : AttributeCollection.Converter<JobSheetsCol> {
-        override fun convert(attributes: List<Attribute<*>>): JobSheetsCol =
-            JobSheetsCol(
-                extractOne(attributes, jobSheets),
-                extractOne(attributes, media),
-                extractOne(attributes, mediaCol),
+        override fun convert(attributes: List<Attribute<*>>): JobSheetsCol {
+            val members = members(attributes)
+            return JobSheetsCol(
+                extractOne(members, jobSheets),
+                extractOne(members, media),
+                extractOne(members, mediaCol),
             )
+        }
         override val cls = JobSheetsCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -36,12 +36,14 @@ constructor(
 
     /** Defines types for each member of [JobStorage]. */
     companion object : AttributeCollection.Converter<JobStorage> {
-        override fun convert(attributes: List<Attribute<*>>): JobStorage =
-            JobStorage(
-                extractOne(attributes, jobStorageAccess),
-                extractOne(attributes, jobStorageDisposition),
-                extractOne(attributes, jobStorageGroup)?.value,
+        override fun convert(attributes: List<Attribute<*>>): JobStorage {
+            val members = members(attributes)
+            return JobStorage(
+                extractOne(members, jobStorageAccess),
+                extractOne(members, jobStorageDisposition),
+                extractOne(members, jobStorageGroup)?.value,
             )
+        }
         override val cls = JobStorage::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
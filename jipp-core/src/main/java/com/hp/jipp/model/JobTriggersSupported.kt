@@ -31,10 +31,12 @@ constructor(
 
     /** Defines types for each member of [JobTriggersSupported]. */
     companion object : AttributeCollection.Converter<JobTriggersSupported> {
-        override fun convert(attributes: List<Attribute<*>>): JobTriggersSupported =
-            JobTriggersSupported(
-                extractOne(attributes, presetName),
+        override fun convert(attributes: List<Attribute<*>>): JobTriggersSupported {
+            val members = members(attributes)
+            return JobTriggersSupported(
+                extractOne(members, presetName),
             )
+        }
         override val cls = JobTriggersSupported::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
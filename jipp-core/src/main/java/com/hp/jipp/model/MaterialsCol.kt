@@ -65,25 +65,27 @@ constructor(
 
     /** Defines types for each member of [MaterialsCol]. */
     companion object : AttributeCollection.Converter<MaterialsCol> {
-        override fun convert(attributes: List<Attribute<*>>): MaterialsCol =
-            MaterialsCol(
-                extractOne(attributes, materialAmount),
-                extractOne(attributes, materialAmountUnits),
-                extractOne(attributes, materialColor),
-                extractOne(attributes, materialDiameter),
-                extractOne(attributes, materialDiameterTolerance),
-                extractOne(attributes, materialFillDensity),
-                extractOne(attributes, materialKey),
-                extractOne(attributes, materialName)?.value,
-                extractOne(attributes, materialNozzleDiameter),
-                extractAll(attributes, materialPurpose),
-                extractOne(attributes, materialRate),
-                extractOne(attributes, materialRateUnits),
-                extractOne(attributes, materialRetraction),
-                extractOne(attributes, materialShellThickness),
-                extractOne(attributes, materialTemperature),
-                extractOne(attributes, materialType),
+        override fun convert(attributes: List<Attribute<*>>): MaterialsCol {
+            val members = members(attributes)
+            return MaterialsCol(
+                extractOne(members, materialAmount),
+                extractOne(members, materialAmountUnits),
+                extractOne(members, materialColor),
+                extractOne(members, materialDiameter),
+                extractOne(members, materialDiameterTolerance),
+                extractOne(members, materialFillDensity),
+                extractOne(members, materialKey),
+                extractOne(members, materialName)?.value,
+                extractOne(members, materialNozzleDiameter),
+                extractAll(members, materialPurpose),
+                extractOne(members, materialRate),
+                extractOne(members, materialRateUnits),
+                extractOne(members, materialRetraction),
+                extractOne(members, materialShellThickness),
+                extractOne(members, materialTemperature),
+                extractOne(members, materialType),
             )
+        }
         override val cls = MaterialsCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
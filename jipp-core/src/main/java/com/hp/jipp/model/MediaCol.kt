@@ -87,32 +87,34 @@ constructor(
 
     /** Defines types for each member of [MediaCol]. */
     companion object : AttributeCollection.Converter<MediaCol> {
-        override fun convert(attributes: List<Attribute<*>>): MediaCol =
-            MediaCol(
-                extractOne(attributes, mediaBackCoating),
-                extractOne(attributes, mediaBottomMargin),
-                extractOne(attributes, mediaColor),
-                extractOne(attributes, mediaFrontCoating),
-                extractOne(attributes, mediaGrain),
-                extractOne(attributes, mediaHoleCount),
-                extractOne(attributes, mediaInfo)?.value,
-                extractOne(attributes, mediaKey),
-                extractOne(attributes, mediaLeftMargin),
-                extractOne(attributes, mediaOrderCount),
-                extractOne(attributes, mediaPrePrinted),
-                extractOne(attributes, mediaRecycled),
-                extractOne(attributes, mediaRightMargin),
-                extractOne(attributes, mediaSize),
-                extractOne(attributes, mediaSizeName),
-                extractOne(attributes, mediaSource),
-                extractOne(attributes, mediaThickness),
-                extractOne(attributes, mediaTooth),
-                extractOne(attributes, mediaTopMargin),
-                extractOne(attributes, mediaTopOffset),
-                extractOne(attributes, mediaTracking),
-                extractOne(attributes, mediaType),
-                extractOne(attributes, mediaWeightMetric),
+        override fun convert(attributes: List<Attribute<*>>): MediaCol {
+            val members = members(attributes)
+            return MediaCol(
+                extractOne(members, mediaBackCoating),
+                extractOne(members, mediaBottomMargin),
+                extractOne(members, mediaColor),
+                extractOne(members, mediaFrontCoating),
+                extractOne(members, mediaGrain),
+                extractOne(members, mediaHoleCount),
+                extractOne(members, mediaInfo)?.value,
+                extractOne(members, mediaKey),
+                extractOne(members, mediaLeftMargin),
+                extractOne(members, mediaOrderCount),
+                extractOne(members, mediaPrePrinted),
+                extractOne(members, mediaRecycled),
+                extractOne(members, mediaRightMargin),
+                extractOne(members, mediaSize),
+                extractOne(members, mediaSizeName),
+                extractOne(members, mediaSource),
+                extractOne(members, mediaThickness),
+                extractOne(members, mediaTooth),
+                extractOne(members, mediaTopMargin),
+                extractOne(members, mediaTopOffset),
+                extractOne(members, mediaTracking),
+                extractOne(members, mediaType),
+                extractOne(members, mediaWeightMetric),
             )
+        }
         override val cls = MediaCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -163,11 +165,13 @@ constructor(
 
         /** Defines types for each member of [MediaSize]. */
         companion object : AttributeCollection.Converter<MediaSize> {
-            override fun convert(attributes: List<Attribute<*>>): MediaSize =
-                MediaSize(
-                    extractOne(attributes, xDimension),
-                    extractOne(attributes, yDimension),
+            override fun convert(attributes: List<Attribute<*>>): MediaSize {
+                val members = members(attributes)
+                return MediaSize(
+                    extractOne(members, xDimension),
+                    extractOne(members, yDimension),
                 )
+            }
             override val cls = MediaSize::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
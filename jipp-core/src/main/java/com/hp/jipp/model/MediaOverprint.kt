@@ -32,11 +32,13 @@ constructor(
 
     /** Defines types for each member of [MediaOverprint]. */
     companion object : AttributeCollection.Converter<MediaOverprint> {
-        override fun convert(attributes: List<Attribute<*>>): MediaOverprint =
-            MediaOverprint(
-                extractOne(attributes, mediaOverprintDistance),
-                extractOne(attributes, mediaOverprintMethod),
+        override fun convert(attributes: List<Attribute<*>>): MediaOverprint {
+            val members = members(attributes)
+            return MediaOverprint(
+                extractOne(members, mediaOverprintDistance),
+                extractOne(members, mediaOverprintMethod),
             )
+        }
         override val cls = MediaOverprint::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
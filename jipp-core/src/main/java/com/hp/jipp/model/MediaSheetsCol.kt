@@ -37,13 +37,15 @@ constructor(
 
     /** Defines types for each member of [MediaSheetsCol]. */
     companion object : AttributeCollection.Converter<MediaSheetsCol> {
-        override fun convert(attributes: List<Attribute<*>>): MediaSheetsCol =
-            MediaSheetsCol(
-                extractOne(attributes, blank),
-                extractOne(attributes, fullColor),
-                extractOne(attributes, highlightColor),
-                extractOne(attributes, monochrome),
+        override fun convert(attributes: List<Attribute<*>>): MediaSheetsCol {
+            val members = members(attributes)
+            return MediaSheetsCol(
+                extractOne(members, blank),
+                extractOne(members, fullColor),
+                extractOne(members, highlightColor),
+                extractOne(members, monochrome),
             )
+        }
         override val cls = MediaSheetsCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
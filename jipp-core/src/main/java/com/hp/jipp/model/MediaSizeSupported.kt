@@ -32,11 +32,13 @@ constructor(
 
     /** Defines types for each member of [MediaSizeSupported]. */
     companion object : AttributeCollection.Converter<MediaSizeSupported> {
-        override fun convert(attributes: List<Attribute<*>>): MediaSizeSupported =
-            MediaSizeSupported(
-                extractOne(attributes, xDimension),
-                extractOne(attributes, yDimension),
+        override fun convert(attributes: List<Attribute<*>>): MediaSizeSupported {
+            val members = members(attributes)
+            return MediaSizeSupported(
+                extractOne(members, xDimension),
+                extractOne(members, yDimension),
             )
+        }
         override val cls = MediaSizeSupported::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
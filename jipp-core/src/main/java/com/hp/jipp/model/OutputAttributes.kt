@@ -32,11 +32,13 @@ constructor(
 
     /** Defines types for each member of [OutputAttributes]. */
     companion object : AttributeCollection.Converter<OutputAttributes> {
-        override fun convert(attributes: List<Attribute<*>>): OutputAttributes =
-            OutputAttributes(
-                extractOne(attributes, noiseRemoval),
-                extractOne(attributes, outputCompressionQualityFactor),
+        override fun convert(attributes: List<Attribute<*>>): OutputAttributes {
+            val members = members(attributes)
+            return OutputAttributes(
+                extractOne(members, noiseRemoval),
+                extractOne(members, outputCompressionQualityFactor),
             )
+        }
         override val cls = OutputAttributes::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
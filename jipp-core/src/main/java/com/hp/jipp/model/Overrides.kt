@@ -37,16 +37,18 @@ constructor(
 
     /** Defines types for each member of [Overrides]. */
     companion object : AttributeCollection.Converter<Overrides> {
-        override fun convert(attributes: List<Attribute<*>>): Overrides =
-            Overrides(
-                extractAll(attributes, pages),
-                extractAll(attributes, documentNumbers),
-                extractAll(attributes, documentCopies),
+        override fun convert(attributes: List<Attribute<*>>): Overrides {
+            val members = members(attributes)
+            return Overrides(
+                extractAll(members, pages),
+                extractAll(members, documentNumbers),
+                extractAll(members, documentCopies),
                 groupOf(
                     Tag.jobAttributes,
                     attributes.filterNot { it.name == pages.name || it.name == documentNumbers.name || it.name == documentCopies.name }
                 ),
             )
+        }
         override val cls = Overrides::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
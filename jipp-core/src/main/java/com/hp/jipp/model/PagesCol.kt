@@ -32,11 +32,13 @@ constructor(
 
     /** Defines types for each member of [PagesCol]. */
     companion object : AttributeCollection.Converter<PagesCol> {
-        override fun convert(attributes: List<Attribute<*>>): PagesCol =
-            PagesCol(
-                extractOne(attributes, fullColor),
-                extractOne(attributes, monochrome),
+        override fun convert(attributes: List<Attribute<*>>): PagesCol {
+            val members = members(attributes)
+            return PagesCol(
+                extractOne(members, fullColor),
+                extractOne(members, monochrome),
             )
+        }
         override val cls = PagesCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
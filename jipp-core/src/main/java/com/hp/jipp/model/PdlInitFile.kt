@@ -34,12 +34,14 @@ constructor(
 
     /** Defines types for each member of [PdlInitFile]. */
     companion object : AttributeCollection.Converter<PdlInitFile> {
-        override fun convert(attributes: List<Attribute<*>>): PdlInitFile =
-            PdlInitFile(
-                extractOne(attributes, pdlInitFileEntry)?.value,
-                extractOne(attributes, pdlInitFileLocation),
-                extractOne(attributes, pdlInitFileName)?.value,
+        override fun convert(attributes: List<Attribute<*>>): PdlInitFile {
+            val members = members(attributes)
+            return PdlInitFile(
+                extractOne(members, pdlInitFileEntry)?.value,
+                extractOne(members, pdlInitFileLocation),
+                extractOne(members, pdlInitFileName)?.value,
             )
+        }
         override val cls = PdlInitFile::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
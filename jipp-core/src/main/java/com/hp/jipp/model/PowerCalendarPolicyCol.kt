@@ -44,17 +44,19 @@ constructor(
 
     /** Defines types for each member of [PowerCalendarPolicyCol]. */
     companion object : AttributeCollection.Converter<PowerCalendarPolicyCol> {
-        override fun convert(attributes: List<Attribute<*>>): PowerCalendarPolicyCol =
-            PowerCalendarPolicyCol(
-                extractOne(attributes, calendarId),
-                extractOne(attributes, dayOfMonth),
-                extractOne(attributes, dayOfWeek),
-                extractOne(attributes, hour),
-                extractOne(attributes, minute),
-                extractOne(attributes, month),
-                extractOne(attributes, requestPowerState),
-                extractOne(attributes, runOnce),
+        override fun convert(attributes: List<Attribute<*>>): PowerCalendarPolicyCol {
+            val members = members(attributes)
+            return PowerCalendarPolicyCol(
+                extractOne(members, calendarId),
+                extractOne(members, dayOfMonth),
+                extractOne(members, dayOfWeek),
+                extractOne(members, hour),
+                extractOne(members, minute),
+                extractOne(members, month),
+                extractOne(members, requestPowerState),
+                extractOne(members, runOnce),
             )
+        }
         override val cls = PowerCalendarPolicyCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
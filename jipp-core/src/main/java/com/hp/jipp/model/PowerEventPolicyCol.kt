@@ -34,12 +34,14 @@ constructor(
 
     /** Defines types for each member of [PowerEventPolicyCol]. */
     companion object : AttributeCollection.Converter<PowerEventPolicyCol> {
-        override fun convert(attributes: List<Attribute<*>>): PowerEventPolicyCol =
-            PowerEventPolicyCol(
-                extractOne(attributes, eventId),
-                extractOne(attributes, eventName)?.value,
-                extractOne(attributes, requestPowerState),
+        override fun convert(attributes: List<Attribute<*>>): PowerEventPolicyCol {
+            val members = members(attributes)
+            return PowerEventPolicyCol(
+                extractOne(members, eventId),
+                extractOne(members, eventName)?.value,
+                extractOne(members, requestPowerState),
             )
+        }
         override val cls = PowerEventPolicyCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -36,13 +36,15 @@ constructor(
 
     /** Defines types for each member of [PowerLogCol]. */
     companion object : AttributeCollection.Converter<PowerLogCol> {
-        override fun convert(attributes: List<Attribute<*>>): PowerLogCol =
-            PowerLogCol(
-                extractOne(attributes, logId),
-                extractOne(attributes, powerState),
-                extractOne(attributes, powerStateDateTime),
-                extractOne(attributes, powerStateMessage)?.value,
+        override fun convert(attributes: List<Attribute<*>>): PowerLogCol {
+            val members = members(attributes)
+            return PowerLogCol(
+                extractOne(members, logId),
+                extractOne(members, powerState),
+                extractOne(members, powerStateDateTime),
+                extractOne(members, powerStateMessage)?.value,
             )
+        }
         override val cls = PowerLogCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
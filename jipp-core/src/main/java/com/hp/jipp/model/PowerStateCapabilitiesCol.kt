@@ -38,14 +38,16 @@ constructor(
 
     /** Defines types for each member of [PowerStateCapabilitiesCol]. */
     companion object : AttributeCollection.Converter<PowerStateCapabilitiesCol> {
-        override fun convert(attributes: List<Attribute<*>>): PowerStateCapabilitiesCol =
-            PowerStateCapabilitiesCol(
-                extractOne(attributes, canAcceptJobs),
-                extractOne(attributes, canProcessJobs),
-                extractOne(attributes, powerActiveWatts),
-                extractOne(attributes, powerInactiveWatts),
-                extractOne(attributes, powerState),
+        override fun convert(attributes: List<Attribute<*>>): PowerStateCapabilitiesCol {
+            val members = members(attributes)
+            return PowerStateCapabilitiesCol(
+                extractOne(members, canAcceptJobs),
+                extractOne(members, canProcessJobs),
+                extractOne(members, powerActiveWatts),
+                extractOne(members, powerInactiveWatts),
+                extractOne(members, powerState),
             )
+        }
         override val cls = PowerStateCapabilitiesCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -36,13 +36,15 @@ constructor(
 
     /** Defines types for each member of [PowerStateCountersCol]. */
     companion object : AttributeCollection.Converter<PowerStateCountersCol> {
-        override fun convert(attributes: List<Attribute<*>>): PowerStateCountersCol =
-            PowerStateCountersCol(
-                extractOne(attributes, hibernateTransitions),
-                extractOne(attributes, onTransitions),
-                extractOne(attributes, standbyTransitions),
-                extractOne(attributes, suspendTransitions),
+        override fun convert(attributes: List<Attribute<*>>): PowerStateCountersCol {
+            val members = members(attributes)
+            return PowerStateCountersCol(
+                extractOne(members, hibernateTransitions),
+                extractOne(members, onTransitions),
+                extractOne(members, standbyTransitions),
+                extractOne(members, suspendTransitions),
             )
+        }
         override val cls = PowerStateCountersCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
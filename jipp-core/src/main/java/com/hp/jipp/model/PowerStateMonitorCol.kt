@@ -42,16 +42,18 @@ constructor(
 
     /** Defines types for each member of [PowerStateMonitorCol]. */
     companion object : AttributeCollection.Converter<PowerStateMonitorCol> {
-        override fun convert(attributes: List<Attribute<*>>): PowerStateMonitorCol =
-            PowerStateMonitorCol(
-                extractOne(attributes, currentMonthKwh),
-                extractOne(attributes, currentWatts),
-                extractOne(attributes, lifetimeKwh),
-                extractOne(attributes, metersAreActual),
-                extractOne(attributes, powerState),
-                extractOne(attributes, powerStateMessage)?.value,
-                extractOne(attributes, powerUsageIsRmsWatts),
+        override fun convert(attributes: List<Attribute<*>>): PowerStateMonitorCol {
+            val members = members(attributes)
+            return PowerStateMonitorCol(
+                extractOne(members, currentMonthKwh),
+                extractOne(members, currentWatts),
+                extractOne(members, lifetimeKwh),
+                extractOne(members, metersAreActual),
+                extractOne(members, powerState),
+                extractOne(members, powerStateMessage)?.value,
+                extractOne(members, powerUsageIsRmsWatts),
             )
+        }
         override val cls = PowerStateMonitorCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
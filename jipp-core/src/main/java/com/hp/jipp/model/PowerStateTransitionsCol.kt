@@ -34,12 +34,14 @@ constructor(
 
     /** Defines types for each member of [PowerStateTransitionsCol]. */
     companion object : AttributeCollection.Converter<PowerStateTransitionsCol> {
-        override fun convert(attributes: List<Attribute<*>>): PowerStateTransitionsCol =
-            PowerStateTransitionsCol(
-                extractOne(attributes, endPowerState),
-                extractOne(attributes, startPowerState),
-                extractOne(attributes, stateTransitionSeconds),
+        override fun convert(attributes: List<Attribute<*>>): PowerStateTransitionsCol {
+            val members = members(attributes)
+            return PowerStateTransitionsCol(
+                extractOne(members, endPowerState),
+                extractOne(members, startPowerState),
+                extractOne(members, stateTransitionSeconds),
             )
+        }
         override val cls = PowerStateTransitionsCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
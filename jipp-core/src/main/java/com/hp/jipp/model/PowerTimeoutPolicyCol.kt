@@ -37,13 +37,15 @@ constructor(
 
     /** Defines types for each member of [PowerTimeoutPolicyCol]. */
     companion object : AttributeCollection.Converter<PowerTimeoutPolicyCol> {
-        override fun convert(attributes: List<Attribute<*>>): PowerTimeoutPolicyCol =
-            PowerTimeoutPolicyCol(
-                extractOne(attributes, startPowerState),
-                extractOne(attributes, timeoutId),
-                extractOne(attributes, timeoutPredicate),
-                extractOne(attributes, timeoutSeconds),
+        override fun convert(attributes: List<Attribute<*>>): PowerTimeoutPolicyCol {
+            val members = members(attributes)
+            return PowerTimeoutPolicyCol(
+                extractOne(members, startPowerState),
+                extractOne(members, timeoutId),
+                extractOne(members, timeoutPredicate),
+                extractOne(members, timeoutSeconds),
             )
+        }
         override val cls = PowerTimeoutPolicyCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
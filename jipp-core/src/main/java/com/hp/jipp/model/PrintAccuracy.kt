@@ -37,13 +37,15 @@ constructor(
 
     /** Defines types for each member of [PrintAccuracy]. */
     companion object : AttributeCollection.Converter<PrintAccuracy> {
-        override fun convert(attributes: List<Attribute<*>>): PrintAccuracy =
-            PrintAccuracy(
-                extractOne(attributes, accuracyUnits),
-                extractOne(attributes, xAccuracy),
-                extractOne(attributes, yAccuracy),
-                extractOne(attributes, zAccuracy),
+        override fun convert(attributes: List<Attribute<*>>): PrintAccuracy {
+            val members = members(attributes)
+            return PrintAccuracy(
+                extractOne(members, accuracyUnits),
+                extractOne(members, xAccuracy),
+                extractOne(members, yAccuracy),
+                extractOne(members, zAccuracy),
             )
+        }
         override val cls = PrintAccuracy::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -37,13 +37,15 @@ constructor(
 
     /** Defines types for each member of [PrintAccuracySupported]. */
     companion object : AttributeCollection.Converter<PrintAccuracySupported> {
-        override fun convert(attributes: List<Attribute<*>>): PrintAccuracySupported =
-            PrintAccuracySupported(
-                extractOne(attributes, accuracyUnits),
-                extractOne(attributes, xAccuracy),
-                extractOne(attributes, yAccuracy),
-                extractOne(attributes, zAccuracy),
+        override fun convert(attributes: List<Attribute<*>>): PrintAccuracySupported {
+            val members = members(attributes)
+            return PrintAccuracySupported(
+                extractOne(members, accuracyUnits),
+                extractOne(members, xAccuracy),
+                extractOne(members, yAccuracy),
+                extractOne(members, zAccuracy),
             )
+        }
         override val cls = PrintAccuracySupported::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
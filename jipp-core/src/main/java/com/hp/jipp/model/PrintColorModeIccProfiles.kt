@@ -33,11 +33,13 @@ constructor(
 
     /** Defines types for each member of [PrintColorModeIccProfiles]. */
     companion object : AttributeCollection.Converter<PrintColorModeIccProfiles> {
-        override fun convert(attributes: List<Attribute<*>>): PrintColorModeIccProfiles =
-            PrintColorModeIccProfiles(
-                extractOne(attributes, printColorMode),
-                extractOne(attributes, profileUri),
+        override fun convert(attributes: List<Attribute<*>>): PrintColorModeIccProfiles {
+            val members = members(attributes)
+            return PrintColorModeIccProfiles(
+                extractOne(members, printColorMode),
+                extractOne(members, profileUri),
             )
+        }
         override val cls = PrintColorModeIccProfiles::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -36,13 +36,15 @@ constructor(
 
     /** Defines types for each member of [PrintObjects]. */
     companion object : AttributeCollection.Converter<PrintObjects> {
-        override fun convert(attributes: List<Attribute<*>>): PrintObjects =
-            PrintObjects(
-                extractOne(attributes, documentNumber),
-                extractOne(attributes, objectOffset),
-                extractOne(attributes, objectSize),
-                extractOne(attributes, objectUuid),
+        override fun convert(attributes: List<Attribute<*>>): PrintObjects {
+            val members = members(attributes)
+            return PrintObjects(
+                extractOne(members, documentNumber),
+                extractOne(members, objectOffset),
+                extractOne(members, objectSize),
+                extractOne(members, objectUuid),
             )
+        }
         override val cls = PrintObjects::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -76,12 +78,14 @@ constructor(
 
         /** Defines types for each member of [ObjectOffset]. */
         companion object : AttributeCollection.Converter<ObjectOffset> {
-            override fun convert(attributes: List<Attribute<*>>): ObjectOffset =
-                ObjectOffset(
-                    extractOne(attributes, xOffset),
-                    extractOne(attributes, yOffset),
-                    extractOne(attributes, zOffset),
+            override fun convert(attributes: List<Attribute<*>>): ObjectOffset {
+                val members = members(attributes)
+                return ObjectOffset(
+                    extractOne(members, xOffset),
+                    extractOne(members, yOffset),
+                    extractOne(members, zOffset),
                 )
+            }
             override val cls = ObjectOffset::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -116,12 +120,14 @@ constructor(
 
         /** Defines types for each member of [ObjectSize]. */
         companion object : AttributeCollection.Converter<ObjectSize> {
-            override fun convert(attributes: List<Attribute<*>>): ObjectSize =
-                ObjectSize(
-                    extractOne(attributes, xDimension),
-                    extractOne(attributes, yDimension),
-                    extractOne(attributes, zDimension),
+            override fun convert(attributes: List<Attribute<*>>): ObjectSize {
+                val members = members(attributes)
+                return ObjectSize(
+                    extractOne(members, xDimension),
+                    extractOne(members, yDimension),
+                    extractOne(members, zDimension),
                 )
+            }
             override val cls = ObjectSize::class.java
             @Deprecated("Remove this symbol")
             @JvmField val Types = this
@@ -34,12 +34,14 @@ constructor(
 
     /** Defines types for each member of [PrinterContactCol]. */
     companion object : AttributeCollection.Converter<PrinterContactCol> {
-        override fun convert(attributes: List<Attribute<*>>): PrinterContactCol =
-            PrinterContactCol(
-                extractOne(attributes, contactName)?.value,
-                extractOne(attributes, contactUri),
-                extractAll(attributes, contactVcard)?.map { it.value },
+        override fun convert(attributes: List<Attribute<*>>): PrinterContactCol {
+            val members = members(attributes)
+            return PrinterContactCol(
+                extractOne(members, contactName)?.value,
+                extractOne(members, contactUri),
+                extractAll(members, contactVcard)?.map { it.value },
             )
+        }
         override val cls = PrinterContactCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
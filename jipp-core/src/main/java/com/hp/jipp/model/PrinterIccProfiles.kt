@@ -35,15 +35,17 @@ constructor(
 
     /** Defines types for each member of [PrinterIccProfiles]. */
     companion object : AttributeCollection.Converter<PrinterIccProfiles> {
-        override fun convert(attributes: List<Attribute<*>>): PrinterIccProfiles =
-            PrinterIccProfiles(
-                extractOne(attributes, profileName)?.value,
-                extractOne(attributes, profileUrl),
+        override fun convert(attributes: List<Attribute<*>>): PrinterIccProfiles {
+            val members = members(attributes)
+            return PrinterIccProfiles(
+                extractOne(members, profileName)?.value,
+                extractOne(members, profileUrl),
                 groupOf(
                     Tag.jobAttributes,
                     attributes.filterNot { it.name == profileName.name || it.name == profileUrl.name }
                 ),
             )
+        }
         override val cls = PrinterIccProfiles::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -34,12 +34,14 @@ constructor(
 
     /** Defines types for each member of [PrinterServiceContactCol]. */
     companion object : AttributeCollection.Converter<PrinterServiceContactCol> {
-        override fun convert(attributes: List<Attribute<*>>): PrinterServiceContactCol =
-            PrinterServiceContactCol(
-                extractOne(attributes, contactName)?.value,
-                extractOne(attributes, contactUri),
-                extractAll(attributes, contactVcard)?.map { it.value },
+        override fun convert(attributes: List<Attribute<*>>): PrinterServiceContactCol {
+            val members = members(attributes)
+            return PrinterServiceContactCol(
+                extractOne(members, contactName)?.value,
+                extractOne(members, contactUri),
+                extractAll(members, contactVcard)?.map { it.value },
             )
+        }
         override val cls = PrinterServiceContactCol::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
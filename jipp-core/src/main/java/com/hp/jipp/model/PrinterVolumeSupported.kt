@@ -34,12 +34,14 @@ constructor(
 
     /** Defines types for each member of [PrinterVolumeSupported]. */
     companion object : AttributeCollection.Converter<PrinterVolumeSupported> {
-        override fun convert(attributes: List<Attribute<*>>): PrinterVolumeSupported =
-            PrinterVolumeSupported(
-                extractOne(attributes, xDimension),
-                extractOne(attributes, yDimension),
-                extractOne(attributes, zDimension),
+        override fun convert(attributes: List<Attribute<*>>): PrinterVolumeSupported {
+            val members = members(attributes)
+            return PrinterVolumeSupported(
+                extractOne(members, xDimension),
+                extractOne(members, yDimension),
+                extractOne(members, zDimension),
             )
+        }
         override val cls = PrinterVolumeSupported::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -36,12 +36,14 @@ constructor(
 
     /** Defines types for each member of [PrinterXriSupported]. */
     companion object : AttributeCollection.Converter<PrinterXriSupported> {
-        override fun convert(attributes: List<Attribute<*>>): PrinterXriSupported =
-            PrinterXriSupported(
-                extractOne(attributes, xriAuthentication),
-                extractOne(attributes, xriSecurity),
-                extractOne(attributes, xriUri),
+        override fun convert(attributes: List<Attribute<*>>): PrinterXriSupported {
+            val members = members(attributes)
+            return PrinterXriSupported(
+                extractOne(members, xriAuthentication),
+                extractOne(members, xriSecurity),
+                extractOne(members, xriUri),
             )
+        }
         override val cls = PrinterXriSupported::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
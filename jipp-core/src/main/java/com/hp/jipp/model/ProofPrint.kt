@@ -35,12 +35,14 @@ constructor(
 
     /** Defines types for each member of [ProofPrint]. */
     companion object : AttributeCollection.Converter<ProofPrint> {
-        override fun convert(attributes: List<Attribute<*>>): ProofPrint =
-            ProofPrint(
-                extractOne(attributes, media),
-                extractOne(attributes, mediaCol),
-                extractOne(attributes, proofPrintCopies),
+        override fun convert(attributes: List<Attribute<*>>): ProofPrint {
+            val members = members(attributes)
+            return ProofPrint(
+                extractOne(members, media),
+                extractOne(members, mediaCol),
+                extractOne(members, proofPrintCopies),
             )
+        }
         override val cls = ProofPrint::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
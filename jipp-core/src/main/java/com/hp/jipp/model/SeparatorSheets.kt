@@ -38,12 +38,14 @@ constructor(
 
     /** Defines types for each member of [SeparatorSheets]. */
     companion object : AttributeCollection.Converter<SeparatorSheets> {
-        override fun convert(attributes: List<Attribute<*>>): SeparatorSheets =
-            SeparatorSheets(
-                extractOne(attributes, media),
-                extractOne(attributes, mediaCol),
-                extractAll(attributes, separatorSheetsType),
+        override fun convert(attributes: List<Attribute<*>>): SeparatorSheets {
+            val members = members(attributes)
+            return SeparatorSheets(
+                extractOne(members, media),
+                extractOne(members, mediaCol),
+                extractAll(members, separatorSheetsType),
             )
+        }
         override val cls = SeparatorSheets::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
@@ -46,17 +46,19 @@ constructor(
 
     /** Defines types for each member of [SystemConfiguredPrinters]. */
     companion object : AttributeCollection.Converter<SystemConfiguredPrinters> {
-        override fun convert(attributes: List<Attribute<*>>): SystemConfiguredPrinters =
-            SystemConfiguredPrinters(
-                extractOne(attributes, printerId),
-                extractOne(attributes, printerInfo)?.value,
-                extractOne(attributes, printerIsAcceptingJobs),
-                extractOne(attributes, printerName)?.value,
-                extractOne(attributes, printerServiceType),
-                extractOne(attributes, printerState),
-                extractAll(attributes, printerStateReasons),
-                extractOne(attributes, printerXriSupported),
+        override fun convert(attributes: List<Attribute<*>>): SystemConfiguredPrinters {
+            val members = members(attributes)
+            return SystemConfiguredPrinters(
+                extractOne(members, printerId),
+                extractOne(members, printerInfo)?.value,
+                extractOne(members, printerIsAcceptingJobs),
+                extractOne(members, printerName)?.value,
+                extractOne(members, printerServiceType),
+                extractOne(members, printerState),
+                extractAll(members, printerStateReasons),
+                extractOne(members, printerXriSupported),
             )
+        }
         override val cls = SystemConfiguredPrinters::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
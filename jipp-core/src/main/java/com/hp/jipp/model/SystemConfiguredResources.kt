@@ -41,15 +41,17 @@ constructor(
 
     /** Defines types for each member of [SystemConfiguredResources]. */
     companion object : AttributeCollection.Converter<SystemConfiguredResources> {
-        override fun convert(attributes: List<Attribute<*>>): SystemConfiguredResources =
-            SystemConfiguredResources(
-                extractOne(attributes, resourceFormat),
-                extractOne(attributes, resourceId),
-                extractOne(attributes, resourceInfo)?.value,
-                extractOne(attributes, resourceName)?.value,
-                extractOne(attributes, resourceState),
-                extractOne(attributes, resourceType),
+        override fun convert(attributes: List<Attribute<*>>): SystemConfiguredResources {
+            val members = members(attributes)
+            return SystemConfiguredResources(
+                extractOne(members, resourceFormat),
+                extractOne(members, resourceId),
+                extractOne(members, resourceInfo)?.value,
+                extractOne(members, resourceName)?.value,
+                extractOne(members, resourceState),
+                extractOne(members, resourceType),
             )
+        }
         override val cls = SystemConfiguredResources::class.java
         @Deprecated("Remove this symbol")
         @JvmField val Types = this
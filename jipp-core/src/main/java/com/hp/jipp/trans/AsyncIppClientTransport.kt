@@ -0,0 +1,23 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.trans
+
+import java.net.URI
+import java.util.concurrent.CompletableFuture
+
+/**
+ * Transport used to send packets and collect responses from an IPP server without blocking the calling thread, so
+ * that many requests may be outstanding at once.
+ */
+interface AsyncIppClientTransport {
+
+    /**
+     * Deliver an IPP packet to the specified URL along with any additional data, returning a future which completes
+     * with the response packet, or completes exceptionally (typically with an [java.io.IOException]) if the exchange
+     * fails.
+     *
+     * Note: implementations should stop waiting for a response if the returned future is cancelled.
+     */
+    fun sendDataAsync(uri: URI, request: IppPacketData): CompletableFuture<IppPacketData>
+}
@@ -0,0 +1,248 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.trans
+
+import java.io.IOException
+import java.io.InputStream
+import java.io.InterruptedIOException
+import java.io.OutputStream
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.Condition
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * Document data written to [output] by a producer, such as a PWG-Raster or PCLm writer, and read by a transport
+ * while it is being produced. Supply this stream as [IppPacketData.data] to send a document without first
+ * rendering all of it.
+ *
+ * At most [capacity] bytes are held at once; the producer is blocked while the buffer is full, so memory use
+ * is fixed regardless of document size and the producer runs no faster than the transport can send.
+ *
+ * The producer closes [output] when the document is complete, or calls [fail] if it cannot be completed, in
+ * which case reads throw the supplied exception. Closing this stream causes further writes to [output] to fail,
+ * stopping the producer.
+ */
+class DocumentSource @JvmOverloads constructor(
+    /** Maximum number of bytes buffered between producer and reader. */
+    val capacity: Int = DEFAULT_CAPACITY,
+    /** Maximum average rate at which data may be read, or [UNLIMITED]. */
+    val bytesPerSecond: Long = UNLIMITED,
+    /** Listener to notify as data is read, if any. */
+    private val listener: ProgressListener? = null
+) : InputStream() {
+    init {
+        require(capacity > 0) { "capacity must be positive" }
+        require(bytesPerSecond >= 0) { "bytesPerSecond must not be negative" }
+    }
+
+    private val buffer = ByteArray(capacity)
+    private val lock = ReentrantLock()
+    private val readable = lock.newCondition()
+    private val writable = lock.newCondition()
+    private val singleByte = ByteArray(1)
+
+    /** Index of the next byte to be read from [buffer]. */
+    private var start = 0
+    /** Number of bytes in [buffer] not yet read. */
+    private var size = 0
+    /** True once the producer has finished, successfully or not. */
+    private var finished = false
+    /** True once this stream is closed. */
+    private var closed = false
+    private var failure: IOException? = null
+    /** Time of the first read, from which the rate limit is measured. */
+    private var startNanos = 0L
+
+    /** Total number of bytes read so far. */
+    @Volatile
+    var bytesRead = 0L
+        private set
+
+    /** Receives progress notifications as document data is read. */
+    fun interface ProgressListener {
+        /** Called after data is read, with the total number of bytes read so far. */
+        fun onProgress(bytesRead: Long)
+    }
+
+    /** Writes document data. */
+    fun interface Producer {
+        /** Write document data to [output], throwing if the document cannot be completed. */
+        @Throws(IOException::class)
+        fun produce(output: OutputStream)
+    }
+
+    /** Receives document data, blocking while the buffer is full. Close when the document is complete. */
+    val output: OutputStream = object : OutputStream() {
+        override fun write(byte: Int) {
+            put(byte.toByte())
+        }
+
+        override fun write(bytes: ByteArray, offset: Int, length: Int) {
+            put(bytes, offset, length)
+        }
+
+        override fun close() {
+            finish(null)
+        }
+    }
+
+    /**
+     * Run [producer] on [executor], closing [output] when it returns or failing this source with any exception
+     * it throws. Returns this object.
+     */
+    fun start(executor: Executor, producer: Producer) = apply {
+        executor.execute {
+            try {
+                producer.produce(output)
+                output.close()
+            } catch (e: IOException) {
+                fail(e)
+            } catch (@Suppress("TooGenericExceptionCaught") e: Exception) {
+                fail(IOException("Document could not be produced", e))
+            }
+        }
+    }
+
+    /** Mark the document as incomplete, causing subsequent reads to throw [cause]. */
+    fun fail(cause: IOException) {
+        finish(cause)
+    }
+
+    private fun finish(cause: IOException?) {
+        lock.withLock {
+            if (!finished) {
+                finished = true
+                failure = cause
+                readable.signalAll()
+            }
+        }
+    }
+
+    private fun put(bytes: ByteArray, offset: Int, length: Int) {
+        var position = offset
+        val end = offset + length
+        while (position < end) {
+            lock.withLock {
+                awaitSpace()
+
+                // Copy as much as fits, wrapping around the end of the buffer if necessary
+                val count = minOf(end - position, capacity - size)
+                val tail = (start + size) % capacity
+                val first = minOf(count, capacity - tail)
+                System.arraycopy(bytes, position, buffer, tail, first)
+                System.arraycopy(bytes, position + first, buffer, 0, count - first)
+                size += count
+                position += count
+                readable.signal()
+            }
+        }
+    }
+
+    /** Store a single byte, without the array needed to use [put] for it. */
+    private fun put(byte: Byte) {
+        lock.withLock {
+            awaitSpace()
+            buffer[(start + size) % capacity] = byte
+            size++
+            readable.signal()
+        }
+    }
+
+    /** Wait, holding [lock], until there is space in [buffer] for at least one more byte. */
+    private fun awaitSpace() {
+        while (size == capacity && !closed) {
+            await(writable)
+        }
+        if (closed) throw IOException("Document source closed")
+        if (finished) throw IOException("Document already finished")
+    }
+
+    override fun read(): Int =
+        if (read(singleByte, 0, 1) == -1) -1 else singleByte[0].toInt() and BYTE_MASK
+
+    override fun read(bytes: ByteArray, offset: Int, length: Int): Int {
+        if (length == 0) return 0
+        throttle()
+        val count = lock.withLock {
+            while (size == 0 && !finished && !closed) {
+                await(readable)
+            }
+            if (closed) throw IOException("Stream closed")
+            failure?.let { throw it }
+            if (size == 0) return -1
+
+            val count = minOf(length, size, maxRead())
+            val first = minOf(count, capacity - start)
+            System.arraycopy(buffer, start, bytes, offset, first)
+            System.arraycopy(buffer, 0, bytes, offset + first, count - first)
+            start = (start + count) % capacity
+            size -= count
+            writable.signal()
+            count
+        }
+        bytesRead += count
+        listener?.onProgress(bytesRead)
+        return count
+    }
+
+    /** Return the largest number of bytes to deliver in one read, so that limited data does not arrive in bursts. */
+    private fun maxRead(): Int =
+        if (bytesPerSecond == UNLIMITED) {
+            capacity
+        } else {
+            (bytesPerSecond / THROTTLE_STEPS_PER_SECOND).coerceIn(1L, capacity.toLong()).toInt()
+        }
+
+    /** Wait until the next read would not exceed [bytesPerSecond]. */
+    private fun throttle() {
+        if (bytesPerSecond == UNLIMITED) return
+        val now = System.nanoTime()
+        if (startNanos == 0L) {
+            startNanos = now
+            return
+        }
+        val due = startNanos + TimeUnit.SECONDS.toNanos(bytesRead / bytesPerSecond) +
+            TimeUnit.SECONDS.toNanos(bytesRead % bytesPerSecond) / bytesPerSecond
+        if (due > now) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(due - now)
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+                throw InterruptedIOException()
+            }
+        }
+    }
+
+    private fun await(condition: Condition) {
+        try {
+            condition.await()
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            throw InterruptedIOException()
+        }
+    }
+
+    override fun available(): Int = lock.withLock { size }
+
+    override fun close() {
+        lock.withLock {
+            closed = true
+            readable.signalAll()
+            writable.signalAll()
+        }
+    }
+
+    companion object {
+        /** Default number of bytes buffered between producer and reader. */
+        const val DEFAULT_CAPACITY = 256 * 1024
+
+        /** Value of [bytesPerSecond] for which no rate limit is applied. */
+        const val UNLIMITED = 0L
+
+        private const val BYTE_MASK = 0xFF
+        private const val THROTTLE_STEPS_PER_SECOND = 10
+    }
+}
@@ -0,0 +1,115 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.trans
+
+import java.io.IOException
+import java.net.URI
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * An [AsyncIppClientTransport] which assigns a unique request-id to each request sent through [transport], and
+ * delivers each response to the request having the same request-id.
+ *
+ * Outstanding requests are failed with a [TimeoutException] if no response arrives within [timeoutMillis].
+ * Transports which receive responses independently of the requests they send, for example over a shared or
+ * pipelined connection, may deliver them with [receive].
+ */
+class IppRequestDispatcher @JvmOverloads constructor(
+    /** Transport used to send requests. */
+    private val transport: AsyncIppClientTransport,
+    /** Milliseconds to wait for each response before failing its request. */
+    val timeoutMillis: Long = DEFAULT_TIMEOUT_MILLIS,
+    /** Scheduler used to time out requests. */
+    private val scheduler: ScheduledExecutorService = defaultScheduler
+) : AsyncIppClientTransport {
+    private val nextRequestId = AtomicInteger(FIRST_REQUEST_ID)
+    private val outstanding = ConcurrentHashMap<Int, CompletableFuture<IppPacketData>>()
+
+    /** Number of requests sent and awaiting a response. */
+    val outstandingCount: Int
+        get() = outstanding.size
+
+    /** Return a new request-id, which is positive and not currently outstanding. */
+    private fun allocateRequestId(): Int {
+        while (true) {
+            // Request-ids must be positive, so wrap around after the largest
+            val requestId = nextRequestId.getAndUpdate { if (it == Int.MAX_VALUE) FIRST_REQUEST_ID else it + 1 }
+            if (!outstanding.containsKey(requestId)) return requestId
+        }
+    }
+
+    /**
+     * Send [request] with a newly assigned request-id, returning a future which completes with the response
+     * having that request-id. The request-id already present in the request packet is ignored.
+     *
+     * Cancelling the returned future, or its failure for any reason, abandons the request.
+     */
+    override fun sendDataAsync(uri: URI, request: IppPacketData): CompletableFuture<IppPacketData> {
+        val requestId = allocateRequestId()
+        val future = CompletableFuture<IppPacketData>()
+        outstanding[requestId] = future
+
+        val expire = Runnable {
+            future.completeExceptionally(TimeoutException("No response to request-id $requestId"))
+        }
+        val timeout = scheduler.schedule(expire, timeoutMillis, TimeUnit.MILLISECONDS)
+
+        val sent = try {
+            transport.sendDataAsync(uri, request.copy(packet = request.packet.copy(requestId = requestId)))
+        } catch (@Suppress("TooGenericExceptionCaught") e: Exception) {
+            outstanding.remove(requestId, future)
+            timeout.cancel(false)
+            throw e
+        }
+        future.whenComplete { _, error ->
+            outstanding.remove(requestId, future)
+            timeout.cancel(false)
+            // Abandon the exchange unless it delivered this request's response
+            if (error != null) sent.cancel(true)
+        }
+
+        sent.whenComplete { response, error ->
+            if (error != null) {
+                future.completeExceptionally(error)
+            } else {
+                if (!receive(response)) response.close()
+                // If the response was for another request then this one will not be answered
+                future.completeExceptionally(IOException("Response did not match request-id $requestId"))
+            }
+        }
+        return future
+    }
+
+    /**
+     * Complete the outstanding request having the same request-id as [response]. Returns false if no such
+     * request is outstanding, in which case the caller remains responsible for closing [response].
+     */
+    fun receive(response: IppPacketData): Boolean =
+        outstanding.remove(response.packet.requestId)?.complete(response) ?: false
+
+    /** Fail all outstanding requests with [cause], for example when their connection is lost. */
+    fun failAll(cause: Throwable) {
+        outstanding.values.forEach { it.completeExceptionally(cause) }
+    }
+
+    companion object {
+        /** Default milliseconds to wait for a response. */
+        const val DEFAULT_TIMEOUT_MILLIS = 30_000L
+
+        private const val FIRST_REQUEST_ID = 1
+
+        /** Shared scheduler for timeouts, whose thread does not prevent the JVM from exiting. */
+        private val defaultScheduler: ScheduledExecutorService by lazy {
+            ScheduledThreadPoolExecutor(1) { runnable ->
+                Thread(runnable, "IppRequestDispatcher").apply { isDaemon = true }
+            }.apply { removeOnCancelPolicy = true }
+        }
+    }
+}
@@ -1,4 +1,4 @@
-// © Copyright 2017 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.trans
@@ -7,7 +7,7 @@ import java.io.IOException
 import java.net.URI
 
 /** Transport used to receive requests and respond to an IPP client */
-interface IppServerTransport {
+fun interface IppServerTransport {
     /**
      * Handle IPP requests and data, returning a response packet and optional data
      *
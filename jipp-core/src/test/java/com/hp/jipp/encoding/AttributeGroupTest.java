@@ -1,4 +1,4 @@
-// © Copyright 2017 - 2023 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding;
@@ -137,6 +137,26 @@ public class AttributeGroupTest {
         assertEquals(Types.attributesCharset.of("utf-8"), grp.get(Types.attributesCharset));
         assertEquals(Types.printerUri.of(URI.create("ipp://10.0.0.23/ipp/printer")), grp.get(Types.printerUri));
         assertEquals(Types.attributesNaturalLanguage.of("de"), grp.get(Types.attributesNaturalLanguage));
+        // Position of first occurrence is retained
+        assertEquals(Arrays.asList(Types.attributesCharset.of("utf-8"),
+                Types.printerUri.of(URI.create("ipp://10.0.0.23/ipp/printer")),
+                Types.attributesNaturalLanguage.of("de")), grp);
+    }
+
+    @Test
+    public void largeGroup() {
+        List<Attribute<?>> attributes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            attributes.add(new IntType("attribute-" + i).of(i));
+        }
+        AttributeGroup group = groupOf(printerAttributes, attributes);
+        assertEquals(attributes, group);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(Integer.valueOf(i), group.getValue(new IntType("attribute-" + i)));
+            assertEquals(attributes.get(i), group.get("attribute-" + i));
+        }
+        assertNull(group.get("attribute-500"));
+        assertNull(group.get(""));
     }
 
     @Test
@@ -327,6 +347,30 @@ public class AttributeGroupTest {
         assertFalse(mutableGroup.drop(printerName));
     }
 
+    @Test
+    public void largeMutableGroup() {
+        MutableAttributeGroup group = mutableGroupOf(operationAttributes);
+        for (int i = 0; i < 500; i++) {
+            group.put(new UnknownAttribute("attr-" + i, "value-" + i));
+        }
+        // Replacing keeps the original position
+        group.put(new UnknownAttribute("attr-10", "replaced"));
+        assertEquals(new UnknownAttribute("attr-10", "replaced"), group.get(10));
+
+        // Dropping moves later attributes down
+        assertTrue(group.drop(new UnknownAttribute("attr-5", "value-5")));
+        assertEquals(499, group.size());
+        assertNull(group.get("attr-5"));
+        assertEquals("attr-6", group.get(5).getName());
+        assertEquals("attr-499", group.get(498).getName());
+        assertEquals(group.get(200), group.get("attr-201"));
+
+        int index = 0;
+        for (Attribute<?> attribute : group) {
+            assertEquals(group.get(index++), group.get(attribute.getName()));
+        }
+    }
+
     @Test
     public void minus() {
         Attribute<Name> printerName = Types.printerName.of("jim");
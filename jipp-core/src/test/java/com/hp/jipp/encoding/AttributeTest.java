@@ -1,9 +1,11 @@
-// © Copyright 2016 - 2020 HP Development Company, L.P.
+// © Copyright 2016 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding;
 
 import com.hp.jipp.model.DocumentState;
+import com.hp.jipp.model.FinishingsCol;
+import com.hp.jipp.model.ImpositionTemplate;
 import com.hp.jipp.model.Types;
 import java.io.IOException;
 import java.util.Arrays;
@@ -78,6 +80,32 @@ public class AttributeTest {
         assertEquals(Collections.singletonList("one").hashCode(), charsetAttr.hashCode());
     }
 
+    @Test
+    public void stringableEquality() {
+        Attribute<Object> names = new UnknownAttribute("names", new Name("one"), new Text("two"));
+        Attribute<Object> strings = new UnknownAttribute("names", "one", "two");
+        assertEquals(names, strings);
+        assertEquals(strings, names);
+        assertEquals(names.hashCode(), strings.hashCode());
+        assertEquals(names.hashCode(), names.hashCode()); // Cached
+        assertEquals(Arrays.asList("one", "two").hashCode(), names.hashCode());
+        assertNotEquals(names, new UnknownAttribute("names", "one", "three"));
+        assertNotEquals(names, new UnknownAttribute("names", "one"));
+    }
+
+    @Test
+    public void modifiedValueHash() {
+        FinishingsCol finishings = new FinishingsCol();
+        Attribute<FinishingsCol> attr = Types.finishingsCol.of(finishings);
+        int hash = attr.hashCode();
+        finishings.setImpositionTemplate(new KeywordOrName(ImpositionTemplate.signature));
+        assertNotEquals(hash, attr.hashCode());
+        FinishingsCol expected = new FinishingsCol();
+        expected.setImpositionTemplate(new KeywordOrName(ImpositionTemplate.signature));
+        assertEquals(Types.finishingsCol.of(expected), attr);
+        assertEquals(Types.finishingsCol.of(expected).hashCode(), attr.hashCode());
+    }
+
     @Test
     public void collectionOperations() {
         Attribute<String> attr = Types.attributesCharset.of("one");
@@ -0,0 +1,34 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+import com.hp.jipp.model.PrinterState
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class CodecDispatchTest {
+    @Test
+    fun tagTable() {
+        for (code in 0 until Tag.TAG_CODES) {
+            val tag = Tag.fromInt(code)
+            assertEquals(code, tag.code)
+            if (tag is ValueTag) {
+                assertSame(tag.toString(), IppStreams.codecs.firstOrNull { it.handlesTag(tag) }, IppStreams.codecOf(tag))
+            }
+        }
+        assertEquals(0x1234, Tag.fromInt(0x1234).code)
+    }
+
+    @Test
+    fun classLookup() {
+        assertSame(KeywordType.codec, IppStreams.codecOf(String::class.java))
+        assertSame(KeywordOrNameType.codec, IppStreams.codecOf(KeywordOrName::class.java))
+        // Subclasses are found, and repeatedly return the same codec
+        val subclass: Class<*> = PrinterState.idle.javaClass
+        assertSame(EnumType.codec, IppStreams.codecOf(subclass))
+        assertSame(EnumType.codec, IppStreams.codecOf(subclass))
+        assertEquals(null, IppStreams.codecOf(Thread::class.java))
+    }
+}
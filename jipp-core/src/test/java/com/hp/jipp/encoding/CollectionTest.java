@@ -1,4 +1,4 @@
-// © Copyright 2018 - 2021 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding;
@@ -60,6 +60,18 @@ public class CollectionTest {
         fail("No covering attribute found");
     }
 
+    @Test
+    public void convertDuplicateMembers() {
+        // The first of any duplicated members is used, as before
+        UntypedCollection untyped = new UntypedCollection(Arrays.asList(
+                FinishingsCol.impositionTemplate.of(new KeywordOrName("first")),
+                FinishingsCol.mediaSizeName.of("na_letter_8.5x11in"),
+                FinishingsCol.impositionTemplate.of(new KeywordOrName("second"))));
+        FinishingsCol converted = Types.finishingsColActual.coerce(untyped);
+        assertEquals("first", converted.getImpositionTemplate().getKeyword());
+        assertEquals("na_letter_8.5x11in", converted.getMediaSizeName());
+    }
+
     @Test
     public void untypedCover() throws Exception {
         AttributeGroup group = cycle(groupOf(Tag.operationAttributes, finishingsColActual.of(finishingsCol)));
@@ -0,0 +1,122 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding;
+
+import com.hp.jipp.model.JobState;
+import com.hp.jipp.model.MediaColDatabase;
+import com.hp.jipp.model.Status;
+import com.hp.jipp.model.Types;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static com.hp.jipp.encoding.AttributeGroup.groupOf;
+import static com.hp.jipp.encoding.Cycler.toBytes;
+import static org.junit.Assert.assertEquals;
+
+public class IppPacketHandlerTest {
+
+    /** Records all events as strings. */
+    private static class Recorder extends IppPacketHandler {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onHeader(int versionNumber, int code, int requestId) {
+            events.add("header " + versionNumber + " " + code + " " + requestId);
+        }
+
+        @Override
+        public void onGroupStart(DelimiterTag tag) {
+            events.add("start " + tag);
+        }
+
+        @Override
+        public void onAttribute(String name, Tag tag, byte[] value) {
+            events.add(name + " " + tag + " " + value.length);
+        }
+
+        @Override
+        public void onCollectionStart(String name) {
+            events.add("{ " + name);
+        }
+
+        @Override
+        public void onCollectionEnd(String name) {
+            events.add("} " + name);
+        }
+
+        @Override
+        public void onGroupEnd(DelimiterTag tag) {
+            events.add("end " + tag);
+        }
+    }
+
+    @Test
+    public void events() throws IOException {
+        MediaColDatabase mediaCol = new MediaColDatabase();
+        mediaCol.setMediaSizeName(new KeywordOrName("na_letter_8.5x11in"));
+        mediaCol.setMediaSize(new MediaColDatabase.MediaSize(new IntOrIntRange(21590), new IntOrIntRange(27940)));
+        IppPacket packet = new IppPacket(Status.successfulOk, 0x123,
+                groupOf(Tag.operationAttributes,
+                        Types.attributesCharset.of("utf-8")),
+                groupOf(Tag.printerAttributes,
+                        Types.printerStateReasons.of("none", "media-low"),
+                        Types.mediaColDatabase.of(mediaCol),
+                        Types.printerName.noValue()));
+
+        Recorder recorder = new Recorder();
+        new IppInputStream(new ByteArrayInputStream(toBytes(packet))).readPacket(recorder);
+        assertEquals(Arrays.asList(
+                "header 512 0 291",
+                "start operation-attributes",
+                "attributes-charset charset 5",
+                "end operation-attributes",
+                "start printer-attributes",
+                "printer-state-reasons keyword 4",
+                "printer-state-reasons keyword 9",
+                "{ media-col-database",
+                "{ media-size",
+                "x-dimension integer 4",
+                "y-dimension integer 4",
+                "} media-size",
+                "media-size-name keyword 18",
+                "} media-col-database",
+                "printer-name no-value 0",
+                "end printer-attributes"
+        ), recorder.events);
+    }
+
+    @Test
+    public void filterJobs() throws IOException {
+        List<AttributeGroup> groups = new ArrayList<>();
+        groups.add(groupOf(Tag.operationAttributes, Types.attributesCharset.of("utf-8")));
+        for (int i = 1; i <= 100; i++) {
+            groups.add(groupOf(Tag.jobAttributes,
+                    Types.jobId.of(i),
+                    Types.jobState.of(i % 10 == 0 ? JobState.processing : JobState.pending)));
+        }
+        byte[] bytes = toBytes(new IppPacket(IppPacket.DEFAULT_VERSION_NUMBER, Status.successfulOk.getCode(), 1, groups));
+
+        // Collect only the IDs of processing jobs
+        final List<Integer> processing = new ArrayList<>();
+        new IppInputStream(ByteBuffer.wrap(bytes)).readPacket(new IppPacketHandler() {
+            int jobId;
+
+            @Override
+            public void onAttribute(String name, Tag tag, byte[] value) {
+                if (name.equals(Types.jobId.getName())) {
+                    jobId = ByteBuffer.wrap(value).getInt();
+                } else if (name.equals(Types.jobState.getName())
+                        && ByteBuffer.wrap(value).getInt() == JobState.processing.getCode()) {
+                    processing.add(jobId);
+                }
+            }
+        });
+        assertEquals(Arrays.asList(10, 20, 30, 40, 50, 60, 70, 80, 90, 100), processing);
+    }
+}
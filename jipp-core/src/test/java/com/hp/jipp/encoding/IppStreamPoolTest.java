@@ -0,0 +1,140 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding;
+
+import com.hp.jipp.model.Operation;
+import com.hp.jipp.model.Status;
+import com.hp.jipp.model.Types;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+import static com.hp.jipp.encoding.AttributeGroup.groupOf;
+import static com.hp.jipp.encoding.Cycler.toBytes;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class IppStreamPoolTest {
+    private final IppPacket request = new IppPacket(Operation.getPrinterAttributes, 0x10,
+            groupOf(Tag.operationAttributes,
+                    Types.attributesCharset.of("utf-8"),
+                    Types.attributesNaturalLanguage.of("en")));
+
+    private final IppPacket response = new IppPacket(Status.successfulOk, 0x10,
+            groupOf(Tag.operationAttributes,
+                    Types.attributesCharset.of("utf-8"),
+                    Types.attributesNaturalLanguage.of("en")),
+            groupOf(Tag.printerAttributes,
+                    Types.printerName.of("printer"),
+                    Types.printerStateReasons.of("none")));
+
+    @Test
+    public void restartInput() throws IOException {
+        byte[] requestBytes = toBytes(request);
+        byte[] responseBytes = toBytes(response);
+
+        IppInputStream input = new IppInputStream(new ByteArrayInputStream(requestBytes));
+        assertEquals(request, input.readPacket());
+        assertSame(input, input.restart(new ByteArrayInputStream(responseBytes)));
+        assertEquals(response, input.readPacket());
+
+        // Switch between stream and buffer sources
+        input.restart(ByteBuffer.wrap(requestBytes));
+        assertEquals(request, input.readPacket());
+        input.restart(new ByteArrayInputStream(responseBytes));
+        assertEquals(response, input.readPacket());
+    }
+
+    @Test
+    public void restartMidPacket() throws IOException {
+        // Data left unread from a previous source is discarded
+        IppInputStream input = new IppInputStream(new ByteArrayInputStream(toBytes(response)));
+        input.readShort();
+        input.restart(new ByteArrayInputStream(toBytes(request)));
+        assertEquals(request, input.readPacket());
+    }
+
+    @Test
+    public void restartOutput() throws IOException {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        IppOutputStream output = new IppOutputStream(first);
+        output.write(response);
+        assertEquals(first.size(), output.size());
+
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        assertSame(output, output.restart(second));
+        output.write(request);
+        assertEquals(second.size(), output.size());
+        assertArrayEquals(toBytes(request), second.toByteArray());
+
+        ByteBuffer buffer = ByteBuffer.allocate(IppOutputStream.encodedSize(response));
+        output.restart(buffer);
+        output.write(response);
+        assertEquals(buffer.capacity(), output.size());
+        assertArrayEquals(toBytes(response), buffer.array());
+    }
+
+    @Test
+    public void reuse() throws IOException {
+        IppStreamPool pool = new IppStreamPool();
+        IppInputStream input = pool.input(new ByteArrayInputStream(toBytes(request)));
+        assertEquals(request, input.readPacket());
+        pool.release(input);
+
+        IppInputStream reused = pool.input(ByteBuffer.wrap(toBytes(response)));
+        assertSame(input, reused);
+        assertEquals(response, reused.readPacket());
+        pool.release(reused);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IppOutputStream output = pool.output(bytes);
+        output.write(request);
+        pool.release(output);
+        assertSame(output, pool.output(new ByteArrayOutputStream()));
+        assertArrayEquals(toBytes(request), bytes.toByteArray());
+    }
+
+    @Test
+    public void released() throws IOException {
+        IppStreamPool pool = new IppStreamPool();
+        IppInputStream input = pool.input(ByteBuffer.wrap(toBytes(request)));
+        pool.release(input);
+        assertEquals(-1, input.read());
+
+        IppOutputStream output = pool.output(ByteBuffer.allocate(10));
+        pool.release(output);
+        try {
+            output.write(0);
+            fail("Expected failure");
+        } catch (IllegalStateException ignored) {
+        }
+
+        // Buffer-backed streams remain buffer-backed when reused
+        ByteBuffer buffer = ByteBuffer.allocate(IppOutputStream.encodedSize(request));
+        assertSame(output, pool.output(buffer));
+        output.write(request);
+        assertArrayEquals(toBytes(request), buffer.array());
+        assertSame(input, pool.input(ByteBuffer.wrap(buffer.array())));
+        assertEquals(request, input.readPacket());
+    }
+
+    @Test
+    public void capacity() throws IOException {
+        IppStreamPool pool = new IppStreamPool(1);
+        IppInputStream first = pool.input(ByteBuffer.wrap(toBytes(request)));
+        IppInputStream second = pool.input(ByteBuffer.wrap(toBytes(request)));
+        assertNotSame(first, second);
+        pool.release(first);
+        pool.release(second); // Not retained
+
+        assertSame(first, pool.input(ByteBuffer.wrap(toBytes(request))));
+        IppInputStream third = pool.input(ByteBuffer.wrap(toBytes(request)));
+        assertNotSame(second, third);
+    }
+}
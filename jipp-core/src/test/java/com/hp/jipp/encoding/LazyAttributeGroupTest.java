@@ -0,0 +1,165 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding;
+
+import com.hp.jipp.model.MediaColDatabase;
+import com.hp.jipp.model.PrinterState;
+import com.hp.jipp.model.Status;
+import com.hp.jipp.model.Types;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.Test;
+
+import static com.hp.jipp.encoding.AttributeGroup.groupOf;
+import static com.hp.jipp.encoding.AttributeGroup.mutableGroupOf;
+import static com.hp.jipp.encoding.Cycler.toBytes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class LazyAttributeGroupTest {
+    private final IppPacket packet = new IppPacket(Status.successfulOk, 0x123,
+            groupOf(Tag.operationAttributes,
+                    Types.attributesCharset.of("utf-8"),
+                    Types.attributesNaturalLanguage.of("en")),
+            groupOf(Tag.printerAttributes,
+                    Types.printerState.of(PrinterState.idle),
+                    Types.printerStateReasons.of("none", "media-low"),
+                    Types.mediaColReady.of(mediaCol()),
+                    Types.printerUriSupported.of(URI.create("ipp://10.0.0.1/ipp/print")),
+                    Types.printerName.noValue()));
+
+    private static MediaColDatabase mediaCol() {
+        MediaColDatabase mediaCol = new MediaColDatabase();
+        mediaCol.setMediaSizeName(new KeywordOrName("na_letter_8.5x11in"));
+        mediaCol.setMediaSize(new MediaColDatabase.MediaSize(new IntOrIntRange(21590), new IntOrIntRange(27940)));
+        return mediaCol;
+    }
+
+    @Test
+    public void sameAsEager() throws IOException {
+        byte[] bytes = toBytes(packet);
+        IppPacket eager = new IppInputStream(new ByteArrayInputStream(bytes)).readPacket();
+        IppPacket fromStream = new IppInputStream(new ByteArrayInputStream(bytes)).readLazyPacket();
+        IppPacket fromBuffer = new IppInputStream(ByteBuffer.wrap(bytes)).readLazyPacket();
+
+        assertEquals(eager, fromStream);
+        assertEquals(eager, fromBuffer);
+        assertEquals(eager.toString(), fromBuffer.toString());
+        assertEquals(eager.hashCode(), fromStream.hashCode());
+        assertEquals(Arrays.toString(bytes), Arrays.toString(toBytes(fromStream)));
+        assertEquals(Arrays.toString(bytes), Arrays.toString(toBytes(fromBuffer)));
+    }
+
+    @Test
+    public void coercedOnce() throws IOException {
+        byte[] bytes = toBytes(packet);
+        for (IppPacket parsed : Arrays.asList(new IppInputStream(new ByteArrayInputStream(bytes)).readPacket(),
+                new IppInputStream(ByteBuffer.wrap(bytes)).readLazyPacket())) {
+            // Without a cache, every read is coerced separately
+            AttributeGroup uncached = parsed.get(Tag.printerAttributes);
+            assertNotSame(uncached.get(Types.printerStateReasons), uncached.get(Types.printerStateReasons));
+
+            AttributeGroup printer = parsed.withCoercionCache().get(Tag.printerAttributes);
+            assertEquals(uncached, printer);
+            Attribute<String> reasons = printer.get(Types.printerStateReasons);
+            assertSame(reasons, printer.get(Types.printerStateReasons));
+            assertEquals(Arrays.asList("none", "media-low"), printer.getValues(Types.printerStateReasons));
+
+            // A different type having the same name is coerced separately
+            KeywordType.Set reasonsType = new KeywordType.Set("printer-state-reasons");
+            Attribute<String> otherReasons = printer.get(reasonsType);
+            assertNotSame(reasons, otherReasons);
+            assertSame(otherReasons, printer.get(reasonsType));
+            assertEquals(reasons, printer.get(Types.printerStateReasons));
+
+            // Modifiable collections are never shared between reads
+            MediaColDatabase mediaCol = printer.getValue(Types.mediaColReady);
+            assertNotSame(mediaCol, printer.getValue(Types.mediaColReady));
+            mediaCol.setMediaSizeName(new KeywordOrName("iso_a4_210x297mm"));
+            mediaCol.getMediaSize().setXDimension(new IntOrIntRange(21000));
+            assertEquals(mediaCol(), printer.getValue(Types.mediaColReady));
+            assertNotSame(printer.getValue(Types.mediaColReady).getMediaSize(),
+                    printer.getValue(Types.mediaColReady).getMediaSize());
+
+            // Untyped collections cannot be modified so may be shared
+            UntypedCollection.SetType untypedType = new UntypedCollection.SetType("media-col-ready");
+            assertSame(printer.get(untypedType), printer.get(untypedType));
+        }
+    }
+
+    @Test
+    public void mutableCoercionCache() {
+        MutableAttributeGroup group = mutableGroupOf(Tag.printerAttributes,
+                Types.printerStateReasons.of("none"));
+        AttributeGroup cached = group.withCoercionCache();
+        group.put(Types.printerStateReasons, "media-low");
+        assertEquals(Arrays.asList("none"), cached.getValues(Types.printerStateReasons));
+        assertSame(cached, cached.withCoercionCache());
+    }
+
+    @Test
+    public void typedAccess() throws IOException {
+        IppPacket lazy = new IppInputStream(ByteBuffer.wrap(toBytes(packet))).readLazyPacket();
+        AttributeGroup printer = lazy.get(Tag.printerAttributes);
+        assertEquals(PrinterState.idle, printer.getValue(Types.printerState));
+        assertEquals(Arrays.asList("none", "media-low"), printer.getValues(Types.printerStateReasons));
+        assertEquals(new KeywordOrName("na_letter_8.5x11in"), printer.getValue(Types.mediaColReady).getMediaSizeName());
+        assertNotNull(printer.get(Types.printerName));
+        assertEquals(Tag.noValue, ((EmptyAttribute<?>) printer.get("printer-name")).getTag());
+        assertNull(printer.get(Types.printerInfo));
+        assertEquals(5, printer.size());
+    }
+
+    @Test
+    public void decodeOnAccess() throws IOException {
+        // A uri value which cannot be parsed
+        IppPacket badPacket = new IppPacket(Status.successfulOk, 0x123,
+                groupOf(Tag.printerAttributes,
+                        Types.printerState.of(PrinterState.idle),
+                        new UnknownAttribute("printer-more-info", new OtherString(Tag.uri, "bad uri"))));
+        byte[] bytes = toBytes(badPacket);
+        try {
+            new IppInputStream(new ByteArrayInputStream(bytes)).readPacket();
+            fail("eager read should fail");
+        } catch (IOException ignored) {
+        }
+
+        AttributeGroup printer = new IppInputStream(ByteBuffer.wrap(bytes)).readLazyPacket()
+                .get(Tag.printerAttributes);
+        assertEquals(PrinterState.idle, printer.getValue(Types.printerState));
+        try {
+            printer.get(Types.printerMoreInfo);
+            fail("bad value should fail when accessed");
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void duplicates() throws IOException {
+        AttributeGroup group = groupOf(Tag.printerAttributes,
+                Types.printerState.of(PrinterState.idle),
+                Types.printerName.of("one"));
+        byte[] bytes = toBytes(new IppPacket(Status.successfulOk, 1, group));
+        byte[] duplicated = toBytes(new IppPacket(Status.successfulOk, 1, group, groupOf(Tag.printerAttributes,
+                Types.printerName.of("two"))));
+        // Merge the two printer groups into one by removing the second group's delimiter tag
+        int mergeAt = bytes.length - 1;
+        byte[] merged = new byte[duplicated.length - 1];
+        System.arraycopy(duplicated, 0, merged, 0, mergeAt);
+        System.arraycopy(duplicated, mergeAt + 1, merged, mergeAt, duplicated.length - mergeAt - 1);
+
+        IppPacket eager = new IppInputStream(new ByteArrayInputStream(merged)).readPacket();
+        IppPacket lazy = new IppInputStream(ByteBuffer.wrap(merged)).readLazyPacket();
+        assertEquals(eager, lazy);
+        assertEquals(2, lazy.get(Tag.printerAttributes).size());
+        assertEquals("two", lazy.getString(Tag.printerAttributes, Types.printerName));
+    }
+}
@@ -1,21 +1,26 @@
-// © Copyright 2019 - 2020 HP Development Company, L.P.
+// © Copyright 2019 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding;
 
+import com.hp.jipp.model.JobState;
 import com.hp.jipp.model.Operation;
+import com.hp.jipp.model.Status;
 import com.hp.jipp.model.Types;
 import com.hp.jipp.model.WhichJobs;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import org.junit.Test;
 
 import static com.hp.jipp.encoding.AttributeGroup.groupOf;
 import static com.hp.jipp.encoding.Cycler.cycle;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class SamplePacketTest {
     @Test
@@ -61,4 +66,51 @@ public class SamplePacketTest {
                 "  unsupported-attributes { system-firmware-name (unknown) } }";
         assertEquals(expected, inPacket.prettyPrint(90, "  "));
     }
+
+    @Test
+    public void writeGetJobsIncrementally() throws Exception {
+        final int jobCount = 1000;
+        final ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+        final List<AttributeGroup> written = new ArrayList<>();
+        Iterator<AttributeGroup> jobs = new Iterator<AttributeGroup>() {
+            int jobId = 0;
+            int lastSize = 0;
+
+            @Override
+            public boolean hasNext() {
+                return jobId < jobCount;
+            }
+
+            @Override
+            public AttributeGroup next() {
+                // Earlier content has already been written
+                assertTrue(bytesOut.size() > lastSize);
+                lastSize = bytesOut.size();
+                jobId++;
+                AttributeGroup group = groupOf(Tag.jobAttributes,
+                        Types.jobId.of(jobId),
+                        Types.jobState.of(JobState.pending));
+                written.add(group);
+                return group;
+            }
+        };
+
+        try (IppOutputStream output = new IppOutputStream(bytesOut)) {
+            output.writeHeader(IppPacket.DEFAULT_VERSION_NUMBER, Status.successfulOk.getCode(), 123);
+            output.write(groupOf(Tag.operationAttributes));
+            while (jobs.hasNext()) {
+                output.write(jobs.next());
+            }
+            output.writeEndOfAttributes();
+        }
+
+        // Compare with the same packet written all at once
+        List<AttributeGroup> groups = new ArrayList<>();
+        groups.add(groupOf(Tag.operationAttributes));
+        groups.addAll(written);
+        assertEquals(jobCount, written.size());
+        assertEquals(Arrays.toString(Cycler.toBytes(new IppPacket(IppPacket.DEFAULT_VERSION_NUMBER,
+                        Status.successfulOk.getCode(), 123, groups))),
+                Arrays.toString(bytesOut.toByteArray()));
+    }
 }
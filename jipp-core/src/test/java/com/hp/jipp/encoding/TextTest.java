@@ -1,12 +1,14 @@
-// © Copyright 2018 - 2020 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.encoding;
 
+import com.hp.jipp.model.Status;
 import com.hp.jipp.util.KotlinTest;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import static com.hp.jipp.encoding.AttributeGroup.groupOf;
@@ -39,6 +41,32 @@ public class TextTest {
         assertNull(result.get(0).getLang());
     }
 
+    @Test
+    public void longUnicodeString() throws IOException {
+        // Long enough to bypass any buffer used for short strings
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append("\u00e9t\u00e9 ");
+        }
+        String job = builder.toString();
+        Attribute<Text> result = cycle(jobTextType, jobTextType(job));
+        assertEquals(job, result.get(0).getValue());
+    }
+
+    @Test
+    public void encodedSizeOfUnicode() {
+        // One, two, three and four byte characters, and an unpaired surrogate encoded as a single byte
+        for (String value : Arrays.asList(
+                "job", "\u00e9t\u00e9", "\u20ac\u4e2d", "\ud83d\udda8", "x\ud83d", "\udda8x")) {
+            IppPacket packet = new IppPacket(Status.successfulOk, 1,
+                    groupOf(Tag.jobAttributes, jobTextType(new Text(value, "fr"))));
+            byte[] bytes = IppOutputStream.toByteArray(packet);
+            assertEquals(bytes.length, IppOutputStream.encodedSize(packet));
+            assertEquals(value.getBytes(StandardCharsets.UTF_8).length + 2,
+                    IppStreams.INSTANCE.stringLength(value));
+        }
+    }
+
     @Test
     public void withLanguage() throws IOException {
         Attribute<Text> jobTextAttr = jobTextType(new Text("my job", "en"));
@@ -0,0 +1,62 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.encoding
+
+import com.hp.jipp.encoding.AttributeGroup.Companion.groupOf
+import com.hp.jipp.encoding.Cycler.cycle
+import com.hp.jipp.model.Types
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class Utf8CacheTest {
+    @Test
+    fun encode() {
+        val name = Types.printerName.name
+        assertArrayEquals(name.toByteArray(Charsets.UTF_8), Utf8Cache.encode(name))
+        assertSame(Utf8Cache.encode(name), Utf8Cache.encode(name))
+        assertArrayEquals("ünïcödé".toByteArray(Charsets.UTF_8), Utf8Cache.encode("ünïcödé"))
+    }
+
+    @Test
+    fun encodeLong() {
+        val long = "x".repeat(1000)
+        assertArrayEquals(long.toByteArray(Charsets.UTF_8), Utf8Cache.encode(long))
+    }
+
+    @Test
+    fun decode() {
+        val bytes = "--printer-name--".toByteArray(Charsets.UTF_8)
+        val first = Utf8Cache.decode(bytes, 2, 12)
+        assertEquals("printer-name", first)
+        assertSame(first, Utf8Cache.decode("printer-name".toByteArray(Charsets.UTF_8), 0, 12))
+
+        // Modifying the source must not affect cached results
+        bytes[2] = 'q'.code.toByte()
+        assertEquals("qrinter-name", Utf8Cache.decode(bytes, 2, 12))
+        assertEquals("printer-name", Utf8Cache.decode("printer-name".toByteArray(Charsets.UTF_8), 0, 12))
+        assertEquals("", Utf8Cache.decode(bytes, 0, 0))
+    }
+
+    @Test
+    fun decodeMany() {
+        // Colliding entries replace each other without affecting results
+        for (i in 0 until 10000) {
+            val string = "value-$i-ü"
+            val bytes = string.toByteArray(Charsets.UTF_8)
+            assertEquals(string, Utf8Cache.decode(bytes, 0, bytes.size))
+        }
+    }
+
+    @Test
+    fun cycleNonAscii() {
+        val group = groupOf(
+            Tag.printerAttributes,
+            Types.printerStateReasons.of("ünïcödé-keyword", "none"),
+            Types.printerName.of("Ünïcödé Printer")
+        )
+        assertEquals(group, cycle(group))
+    }
+}
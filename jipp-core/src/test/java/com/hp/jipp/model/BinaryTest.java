@@ -1,14 +1,20 @@
-// © Copyright 2017 - 2020 HP Development Company, L.P.
+// © Copyright 2017 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.model;
 
+import com.hp.jipp.encoding.Attribute;
 import com.hp.jipp.encoding.AttributeGroup;
+import com.hp.jipp.encoding.DelimiterTag;
 import com.hp.jipp.encoding.IppInputStream;
 import com.hp.jipp.encoding.IppOutputStream;
 import com.hp.jipp.encoding.IppPacket;
+import com.hp.jipp.encoding.IppPacketHandler;
 import com.hp.jipp.encoding.Tag;
 import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import kotlin.io.FilesKt;
 import org.junit.Test;
 
@@ -47,6 +53,151 @@ public class BinaryTest {
         assertEquals(toWrappedHexString(inputBytes), toWrappedHexString(bytesOut.toByteArray()));
     }
 
+    @Test
+    public void readBinariesFromBuffers() throws IOException {
+        for (File binFile : getBinFiles()) {
+            byte[] bytes = FilesKt.readBytes(binFile);
+            String expected = new IppInputStream(new ByteArrayInputStream(bytes)).readPacket().prettyPrint(120, "  ");
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes);
+            direct.flip();
+
+            try (RandomAccessFile file = new RandomAccessFile(binFile, "r")) {
+                FileChannel channel = file.getChannel();
+                ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                for (ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.wrap(bytes), direct, mapped }) {
+                    IppPacket packet = new IppInputStream(buffer).readPacket();
+                    assertEquals(expected, packet.prettyPrint(120, "  "));
+                    assertEquals(bytes.length, buffer.position());
+
+                    // Make sure the packet re-encodes to the same bytes
+                    ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+                    try (IppOutputStream output = new IppOutputStream(bytesOut)) {
+                        output.write(packet);
+                    }
+                    assertEquals(toWrappedHexString(bytes), toWrappedHexString(bytesOut.toByteArray()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void readLazyBinaries() throws IOException {
+        for (File binFile : getBinFiles()) {
+            byte[] bytes = FilesKt.readBytes(binFile);
+            String expected = new IppInputStream(new ByteArrayInputStream(bytes)).readPacket().prettyPrint(120, "  ");
+
+            for (IppInputStream input : new IppInputStream[] {
+                    new IppInputStream(new ByteArrayInputStream(bytes)),
+                    new IppInputStream(ByteBuffer.wrap(bytes)) }) {
+                IppPacket packet = input.readLazyPacket();
+                assertEquals(expected, packet.prettyPrint(120, "  "));
+
+                ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+                try (IppOutputStream output = new IppOutputStream(bytesOut)) {
+                    output.write(packet);
+                }
+                assertEquals(toWrappedHexString(bytes), toWrappedHexString(bytesOut.toByteArray()));
+            }
+        }
+    }
+
+    @Test
+    public void readBinaryEvents() throws IOException {
+        for (File binFile : getBinFiles()) {
+            byte[] bytes = FilesKt.readBytes(binFile);
+            IppPacket packet = new IppInputStream(new ByteArrayInputStream(bytes)).readPacket();
+
+            // Count top-level attributes in each group
+            final List<Integer> sizes = new ArrayList<>();
+            new IppInputStream(new ByteArrayInputStream(bytes)).readPacket(new IppPacketHandler() {
+                int depth = 0;
+                String lastName = null;
+
+                @Override
+                public void onGroupStart(DelimiterTag tag) {
+                    sizes.add(0);
+                    lastName = null;
+                }
+
+                @Override
+                public void onAttribute(String name, Tag tag, byte[] value) {
+                    count(name);
+                }
+
+                @Override
+                public void onCollectionStart(String name) {
+                    count(name);
+                    depth++;
+                }
+
+                @Override
+                public void onCollectionEnd(String name) {
+                    depth--;
+                }
+
+                private void count(String name) {
+                    if (depth == 0 && !name.equals(lastName)) {
+                        sizes.set(sizes.size() - 1, sizes.get(sizes.size() - 1) + 1);
+                        lastName = name;
+                    }
+                }
+            });
+
+            List<Integer> expected = new ArrayList<>();
+            for (AttributeGroup group : packet.getAttributeGroups()) {
+                expected.add(group.size());
+            }
+            assertEquals(binFile.getName(), expected, sizes);
+        }
+    }
+
+    @Test
+    public void encodedSizes() throws IOException {
+        for (File binFile : getBinFiles()) {
+            byte[] bytes = FilesKt.readBytes(binFile);
+            IppPacket packet = new IppInputStream(new ByteArrayInputStream(bytes)).readPacket();
+            assertEquals(bytes.length, IppOutputStream.encodedSize(packet));
+
+            int size = 8 + 1; // Header and end-of-attributes tag
+            for (AttributeGroup group : packet.getAttributeGroups()) {
+                int groupSize = 1; // Delimiter tag
+                for (Attribute<?> attribute : group) {
+                    groupSize += IppOutputStream.encodedSize(attribute);
+                }
+                assertEquals(groupSize, IppOutputStream.encodedSize(group));
+                size += groupSize;
+            }
+            assertEquals(bytes.length, size);
+
+            assertEquals(toWrappedHexString(bytes), toWrappedHexString(IppOutputStream.toByteArray(packet)));
+
+            // Write into the middle of a larger buffer
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 10);
+            buffer.position(5);
+            new IppOutputStream(buffer).write(packet);
+            assertEquals(bytes.length + 5, buffer.position());
+        }
+    }
+
+    @Test
+    public void readFromBufferOffset() throws IOException {
+        IppPacket packet = new IppPacket(Status.successfulOk, 0x123);
+        ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+        bytesOut.write(new byte[] { 0x55, 0x55 });
+        try (IppOutputStream output = new IppOutputStream(bytesOut)) {
+            output.write(packet);
+            output.write(new byte[] { 0x01, 0x02 });
+        }
+
+        // Read from a slice of the array, leaving trailing data in the buffer
+        ByteBuffer buffer = ByteBuffer.wrap(bytesOut.toByteArray(), 2, bytesOut.size() - 2).slice();
+        assertEquals(packet, new IppInputStream(buffer).readPacket());
+        assertEquals(2, buffer.remaining());
+        assertEquals(0x01, buffer.get());
+    }
+
     private List<File> getBinFiles() {
         File printerDir = new File(getResource("printer"));
         assertTrue(printerDir.isDirectory());
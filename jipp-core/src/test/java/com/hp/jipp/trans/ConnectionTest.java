@@ -1,4 +1,4 @@
-// © Copyright 2018 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.trans;
@@ -12,10 +12,15 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.Arrays;
 
 import static com.hp.jipp.encoding.AttributeGroup.groupOf;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class ConnectionTest {
@@ -60,4 +65,29 @@ public class ConnectionTest {
 
         assertEquals(responsePacket, response.getPacket());
     }
+
+    @Test
+    public void responseData() throws IOException {
+        IppPacket requestPacket = new IppPacket(Operation.getPrinterAttributes, 0x124,
+                groupOf(Tag.operationAttributes));
+        IppPacket responsePacket = new IppPacket(Status.successfulOk, 0x124,
+                groupOf(Tag.operationAttributes));
+        byte[] extra = new byte[100000];
+        Arrays.fill(extra, (byte) 0x55);
+        serverResponse = new IppPacketData(responsePacket, new ByteArrayInputStream(extra));
+
+        try (IppPacketData response = client.sendData(URI.create("ipp://localhost:" + port + path),
+                new IppPacketData(requestPacket, null))) {
+            assertEquals(responsePacket, response.getPacket());
+
+            // Additional data follows the packet in the response stream
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            InputStream data = response.getData();
+            byte[] buffer = new byte[1024];
+            for (int read = data.read(buffer); read != -1; read = data.read(buffer)) {
+                received.write(buffer, 0, read);
+            }
+            assertArrayEquals(extra, received.toByteArray());
+        }
+    }
 }
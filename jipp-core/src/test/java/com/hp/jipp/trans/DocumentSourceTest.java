@@ -0,0 +1,180 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.trans;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DocumentSourceTest {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static byte[] document(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i * 7);
+        }
+        return bytes;
+    }
+
+    private static byte[] readAll(InputStream input, int chunkSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[chunkSize];
+        int read;
+        while ((read = input.read(chunk)) != -1) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void bounded() throws IOException {
+        byte[] document = document(100_000);
+        AtomicInteger maxAvailable = new AtomicInteger();
+        DocumentSource source = new DocumentSource(1000);
+        source.start(executor, output -> {
+            // Write in pieces both smaller and larger than capacity
+            output.write(document, 0, 10);
+            output.write(document[10]);
+            output.write(document, 11, document.length - 11);
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[333];
+        int read;
+        while ((read = source.read(chunk)) != -1) {
+            maxAvailable.set(Math.max(maxAvailable.get(), source.available()));
+            out.write(chunk, 0, read);
+        }
+        assertArrayEquals(document, out.toByteArray());
+        assertTrue(maxAvailable.get() <= 1000);
+        assertEquals(document.length, source.getBytesRead());
+    }
+
+    @Test
+    public void singleBytes() throws IOException {
+        DocumentSource source = new DocumentSource(3);
+        source.start(executor, output -> output.write(new byte[] { 1, (byte) 0xFF, 3, 4 }));
+        assertEquals(1, source.read());
+        assertEquals(0xFF, source.read());
+        assertEquals(3, source.read());
+        assertEquals(4, source.read());
+        assertEquals(-1, source.read());
+    }
+
+    @Test
+    public void singleByteWrites() throws IOException {
+        // Bytes written one at a time wrap around a small buffer
+        byte[] document = document(1000);
+        DocumentSource source = new DocumentSource(7);
+        source.start(executor, output -> {
+            for (byte b : document) {
+                output.write(b);
+            }
+        });
+        assertArrayEquals(document, readAll(source, 5));
+    }
+
+    @Test
+    public void progress() throws IOException {
+        AtomicLong progress = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        DocumentSource source = new DocumentSource(100, DocumentSource.UNLIMITED, bytesRead -> {
+            assertTrue(bytesRead > progress.get());
+            progress.set(bytesRead);
+            calls.incrementAndGet();
+        });
+        source.start(executor, output -> output.write(document(1000)));
+        readAll(source, 50);
+        assertEquals(1000, progress.get());
+        assertTrue(calls.get() >= 20);
+    }
+
+    @Test
+    public void rateLimited() throws IOException {
+        // 20 KB at 100 KB/s takes about 200ms, less the final read which is not delayed
+        DocumentSource source = new DocumentSource(4096, 100_000);
+        source.start(executor, output -> output.write(document(20_000)));
+        long start = System.nanoTime();
+        assertEquals(20_000, readAll(source, 4096).length);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("Finished in " + elapsed + "ms", elapsed >= 150);
+    }
+
+    @Test
+    public void producerFailure() throws IOException {
+        DocumentSource source = new DocumentSource(100);
+        source.start(executor, output -> {
+            output.write(document(10));
+            throw new IOException("Render failed");
+        });
+        try {
+            readAll(source, 100);
+            fail("Expected failure");
+        } catch (IOException e) {
+            assertEquals("Render failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void producerException() throws IOException {
+        DocumentSource source = new DocumentSource(100);
+        source.start(executor, output -> {
+            throw new IllegalStateException("Bad page");
+        });
+        try {
+            readAll(source, 100);
+            fail("Expected failure");
+        } catch (IOException e) {
+            assertEquals("Bad page", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void closeStopsProducer() throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        DocumentSource source = new DocumentSource(100);
+        source.start(executor, output -> {
+            try {
+                while (true) {
+                    output.write(document(50));
+                }
+            } catch (IOException e) {
+                failure.set(e);
+                stopped.countDown();
+                throw e;
+            }
+        });
+        assertEquals(50, source.read(new byte[50]));
+        source.close();
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertEquals("Document source closed", failure.get().getMessage());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badCapacity() {
+        new DocumentSource(0);
+    }
+}
@@ -1,12 +1,10 @@
-// © Copyright 2018 - 2021 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.trans
 
 import com.hp.jipp.encoding.IppInputStream
 import com.hp.jipp.encoding.IppOutputStream
-import java.io.ByteArrayInputStream
-import java.io.ByteArrayOutputStream
 import java.io.DataOutputStream
 import java.io.IOException
 import java.net.HttpURLConnection
@@ -16,7 +14,8 @@ import java.net.URL
 /**
  * A simple HTTP-only transport for IPP.
  *
- * It is assumed that the remote server will not deliver additional data (just an IPP packet).
+ * The response packet is parsed as it arrives. Any additional data following it may be read from the returned
+ * [IppPacketData], which must be closed when done.
  */
 class HttpIppClientTransport : IppClientTransport {
 
@@ -44,16 +43,15 @@ class HttpIppClientTransport : IppClientTransport {
             }
             output.flush()
         }.let {
-            println("Reading the output stream")
-            val rxBytes = ByteArrayOutputStream()
-            connection.inputStream.apply {
-                copyTo(rxBytes)
-            }
-
-            ByteArrayInputStream(rxBytes.toByteArray()).use { input ->
-                println("Parsing received data")
+            println("Parsing the response")
+            // Parse directly from the connection, leaving any additional data to be read from the result
+            val input = connection.inputStream
+            try {
                 val ippInput = IppInputStream(input)
                 IppPacketData(ippInput.readPacket(), ippInput)
+            } catch (e: IOException) {
+                input.close()
+                throw e
             }
         }
     }
@@ -0,0 +1,156 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.trans;
+
+import com.hp.jipp.encoding.IppPacket;
+import com.hp.jipp.model.Status;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IppRequestDispatcherTest {
+    private final URI uri = URI.create("ipp://localhost/printer");
+
+    /** Records requests, completing their futures only when told to. */
+    private static class PendingTransport implements AsyncIppClientTransport {
+        final List<IppPacket> requests = new ArrayList<>();
+        final List<CompletableFuture<IppPacketData>> futures = new ArrayList<>();
+
+        @Override
+        public CompletableFuture<IppPacketData> sendDataAsync(URI uri, IppPacketData request) {
+            CompletableFuture<IppPacketData> future = new CompletableFuture<>();
+            requests.add(request.getPacket());
+            futures.add(future);
+            return future;
+        }
+
+        void respond(int index, int requestId) {
+            futures.get(index).complete(new IppPacketData(
+                    IppPacket.response(Status.successfulOk).setRequestId(requestId).build()));
+        }
+    }
+
+    private IppPacketData request() {
+        return new IppPacketData(IppPacket.getPrinterAttributes(uri).build());
+    }
+
+    private static int requestId(CompletableFuture<IppPacketData> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS).getPacket().getRequestId();
+    }
+
+    @Test
+    public void assignsRequestIds() throws Exception {
+        PendingTransport transport = new PendingTransport();
+        IppRequestDispatcher dispatcher = new IppRequestDispatcher(transport);
+        CompletableFuture<IppPacketData> first = dispatcher.sendDataAsync(uri, request());
+        CompletableFuture<IppPacketData> second = dispatcher.sendDataAsync(uri, request());
+        assertEquals(1, transport.requests.get(0).getRequestId());
+        assertEquals(2, transport.requests.get(1).getRequestId());
+        assertEquals(2, dispatcher.getOutstandingCount());
+
+        transport.respond(1, 2);
+        transport.respond(0, 1);
+        assertEquals(1, requestId(first));
+        assertEquals(2, requestId(second));
+        assertEquals(0, dispatcher.getOutstandingCount());
+    }
+
+    @Test
+    public void crossedResponses() throws Exception {
+        // Responses delivered on the wrong exchange still reach their requests
+        PendingTransport transport = new PendingTransport();
+        IppRequestDispatcher dispatcher = new IppRequestDispatcher(transport);
+        CompletableFuture<IppPacketData> first = dispatcher.sendDataAsync(uri, request());
+        CompletableFuture<IppPacketData> second = dispatcher.sendDataAsync(uri, request());
+        transport.respond(0, 2);
+        assertEquals(2, requestId(second));
+        try {
+            first.get(5, TimeUnit.SECONDS);
+            fail("Expected failure");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void receive() throws Exception {
+        // A transport may deliver responses out of band
+        PendingTransport transport = new PendingTransport();
+        IppRequestDispatcher dispatcher = new IppRequestDispatcher(transport);
+        CompletableFuture<IppPacketData> future = dispatcher.sendDataAsync(uri, request());
+        IppPacketData response = new IppPacketData(
+                IppPacket.response(Status.successfulOk).setRequestId(1).build());
+        assertTrue(dispatcher.receive(response));
+        assertEquals(1, requestId(future));
+        assertFalse(dispatcher.receive(response));
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        PendingTransport transport = new PendingTransport();
+        IppRequestDispatcher dispatcher = new IppRequestDispatcher(transport, 50);
+        CompletableFuture<IppPacketData> future = dispatcher.sendDataAsync(uri, request());
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected timeout");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertEquals(0, dispatcher.getOutstandingCount());
+        assertTrue(transport.futures.get(0).isCancelled());
+        // A late response is not delivered
+        assertFalse(dispatcher.receive(new IppPacketData(
+                IppPacket.response(Status.successfulOk).setRequestId(1).build())));
+    }
+
+    @Test
+    public void cancel() {
+        PendingTransport transport = new PendingTransport();
+        IppRequestDispatcher dispatcher = new IppRequestDispatcher(transport);
+        CompletableFuture<IppPacketData> future = dispatcher.sendDataAsync(uri, request());
+        future.cancel(true);
+        assertTrue(transport.futures.get(0).isCancelled());
+        assertEquals(0, dispatcher.getOutstandingCount());
+    }
+
+    @Test
+    public void transportFailure() throws Exception {
+        PendingTransport transport = new PendingTransport();
+        IppRequestDispatcher dispatcher = new IppRequestDispatcher(transport);
+        CompletableFuture<IppPacketData> future = dispatcher.sendDataAsync(uri, request());
+        transport.futures.get(0).completeExceptionally(new IOException("Connection lost"));
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected failure");
+        } catch (ExecutionException e) {
+            assertEquals("Connection lost", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void transportThrows() {
+        IppRequestDispatcher dispatcher = new IppRequestDispatcher((target, data) -> {
+            throw new IllegalStateException("Transport closed");
+        });
+        try {
+            dispatcher.sendDataAsync(uri, request());
+            fail("Expected failure");
+        } catch (IllegalStateException e) {
+            assertEquals("Transport closed", e.getMessage());
+        }
+        assertEquals(0, dispatcher.getOutstandingCount());
+    }
+}
@@ -1,4 +1,4 @@
-// © Copyright 2018 - 2021 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.pdl
@@ -33,14 +33,32 @@ abstract class RenderableDocument : Iterable<RenderablePage> {
         }.handleReversed(settings).handleCopies(settings.copies)
 
     companion object {
-        /** For a two-sided output document, return a document with an extra blank page added if necessary. */
+        /**
+         * For a two-sided output document, return a document with an extra blank page added after the last page if
+         * necessary. Pages are counted as they pass, so the document is iterated only once.
+         */
         private fun RenderableDocument.handleSidesExtraBlank(allowPadding: Boolean) =
             when {
-                allowPadding && count().isOdd -> mapPages { it + listOf(it.last().blank()) }
+                allowPadding -> mapPages {
+                    sequence {
+                        // Keep only the last page, from which to make a blank page
+                        var count = 0
+                        var last: RenderablePage? = null
+                        it.forEach { page ->
+                            count++
+                            last = page
+                            yield(page)
+                        }
+                        if (count.isOdd) last?.let { page -> yield(page.blank()) }
+                    }.asIterable()
+                }
                 else -> this
             }
 
-        /** For any document, return a document with the correct stacking order. */
+        /**
+         * For any document, return a document with the correct stacking order. Reversing the order holds all pages
+         * in memory.
+         */
         private fun RenderableDocument.handleReversed(settings: OutputSettings) =
             when {
                 settings.reversed -> mapPages { it.reversed() }
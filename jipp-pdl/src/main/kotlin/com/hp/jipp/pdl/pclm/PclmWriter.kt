@@ -1,4 +1,4 @@
-// © Copyright 2018 - 2021 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.pdl.pclm
@@ -11,11 +11,16 @@ import com.hp.jipp.pdl.RenderableDocument
 import com.hp.jipp.pdl.RenderablePage
 import com.hp.jipp.pdl.isEven
 import com.hp.jipp.pdl.isOdd
-import java.io.ByteArrayOutputStream
+import com.hp.jipp.pdl.util.ReusableByteArrayOutputStream
 import java.io.CharArrayWriter
 import java.io.IOException
 import java.io.OutputStream
 import java.io.Writer
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
+import java.util.zip.Deflater
 import java.util.zip.DeflaterOutputStream
 import kotlin.math.roundToInt
 
@@ -46,6 +51,10 @@ class PclmWriter(
     /** A list of offsets to each sequentially-numbered object in the stream */
     private val crossReferences = ArrayList<Int>()
 
+    /** Number of strips whose compressors have not yet been released. */
+    internal var openStrips = 0
+        private set
+
     override fun flush() {
         outputStream.flush()
     }
@@ -70,19 +79,89 @@ class PclmWriter(
 
     /** Write a complete document in PCLm format */
     fun write(document: RenderableDocument) {
-        crossReferences.add(-1) // Placeholder so that objects begin with 1
-        crossReferences.add(-1) // Placeholder for Catalog
-        crossReferences.add(-1) // Placeholder for Page Tree
         startDoc()
-        document.mapPages { doc ->
-            doc.mapIndexed { pageNumber, page -> page.transform(pageNumber) }
-        }.handleSides(settings.output, allowPadding = true).forEach { page ->
-            writePage(document, page)
+        val strip = Strip()
+        try {
+            pages(document).forEach { page ->
+                val swaths = writePageObjects(document, page)
+                swaths.forEachIndexed { index, swath ->
+                    strip.encode(page, swath, first = index == 0)
+                    writeStrip(strip)
+                }
+            }
+        } finally {
+            strip.close()
+        }
+        endDoc()
+        flush()
+    }
+
+    /**
+     * Write a complete document in PCLm format, rendering and compressing up to [maxPending] strips at once on
+     * [executor]. Objects are numbered and written in order by the calling thread, so output is identical to that
+     * of [write].
+     *
+     * Pages must allow different swaths to be rendered concurrently from any thread.
+     */
+    @JvmOverloads
+    fun write(document: RenderableDocument, executor: Executor, maxPending: Int = DEFAULT_MAX_PENDING) {
+        require(maxPending > 0) { "maxPending must be positive" }
+        startDoc()
+        // Each pending task supplies a function writing its objects when all preceding objects are written
+        val pending = ArrayDeque<Future<() -> Unit>>()
+        val free = ArrayDeque<Strip>()
+        val strips = mutableListOf<Strip>()
+
+        fun writeNext() {
+            val writeObjects = try {
+                pending.removeFirst().get()
+            } catch (e: ExecutionException) {
+                throw e.cause ?: e
+            }
+            writeObjects()
+        }
+
+        fun enqueue(task: FutureTask<() -> Unit>) {
+            if (pending.size >= maxPending) writeNext()
+            pending.addLast(task)
+        }
+
+        try {
+            pages(document).forEach { page ->
+                val swaths = swathsOf(page)
+                // Page objects refer to the object numbers of the strips following them
+                enqueue(FutureTask<() -> Unit> { { writePageObjects(document, page, swaths) } }.apply { run() })
+
+                swaths.forEachIndexed { index, swath ->
+                    val strip = free.removeFirstOrNull() ?: Strip().also { strips += it }
+                    val task = FutureTask {
+                        strip.encode(page, swath, first = index == 0)
+                        val writeObjects = {
+                            writeStrip(strip)
+                            free.addLast(strip)
+                        }
+                        writeObjects
+                    }
+                    enqueue(task)
+                    executor.execute(task)
+                }
+            }
+            while (pending.isNotEmpty()) writeNext()
+        } finally {
+            // Abandon any work remaining after a failure, then release every strip once it is no longer encoding
+            pending.forEach { it.cancel(true) }
+            strips.forEach { it.close() }
         }
         endDoc()
         flush()
     }
 
+    /** Return each page of [document] to be written. */
+    private fun pages(document: RenderableDocument) =
+        document.mapPages { doc ->
+            doc.asSequence().mapIndexed { pageNumber, page -> page.transform(pageNumber) }.asIterable()
+        }.handleSides(settings.output, allowPadding = true)
+
     private fun RenderablePage.transform(number: Int) =
         when {
             number.isEven -> this
@@ -97,14 +176,17 @@ class PclmWriter(
 
     /** Write the header to start a PCLM */
     private fun startDoc() {
+        crossReferences.add(-1) // Placeholder so that objects begin with 1
+        crossReferences.add(-1) // Placeholder for Catalog
+        crossReferences.add(-1) // Placeholder for Page Tree
         write("%PDF-1.7\n")
         write("%PCLm 1.0\n") // Spec shows PCLm-1.0 but this doesn't work
     }
 
-    private data class Swath(val objectNumber: Int, val imageNumber: Int, val height: Int, val yOffset: Int)
+    private data class Swath(val imageNumber: Int, val height: Int, val yOffset: Int)
 
-    /** Write a rendered page */
-    private fun writePage(doc: RenderableDocument, page: RenderablePage) {
+    /** Return the swaths making up [page], from top to bottom. */
+    private fun swathsOf(page: RenderablePage): List<Swath> {
         // Number of strips (rounding up so we get all strips including the last)
         val stripCount = Math.ceil(page.heightPixels / settings.stripHeight.toDouble()).roundToInt()
 
@@ -112,20 +194,25 @@ class PclmWriter(
         var yOffset = 0
 
         // Build out swath definitions. Note: duplex will run backwards
-        val swaths = (0 until stripCount).map { index ->
+        return (0 until stripCount).map { index ->
             val height = if (index == stripCount - 1) {
                 page.heightPixels - (stripCount - 1) * settings.stripHeight
             } else settings.stripHeight
 
-            // Predict the object number assuming page object, page content stream object, and interleaved transforms
             Swath(
-                objectNumber = crossReferences.size + 2 + (index * 2),
                 imageNumber = index,
                 height = height,
                 yOffset = yOffset.also { yOffset += height }
             )
         }
+    }
 
+    /** Write the page object and page content stream object for [page], returning its swaths. */
+    private fun writePageObjects(
+        doc: RenderableDocument,
+        page: RenderablePage,
+        swaths: List<Swath> = swathsOf(page)
+    ): List<Swath> {
         // Write the page object
         val pageObjectNumber = pdObject {
             write("/Type /Page\n")
@@ -133,7 +220,10 @@ class PclmWriter(
             write("/Resources <<\n")
             write("/XObject <<\n")
             for (swath in swaths) {
-                write("/Image${swath.imageNumber} ${swath.objectNumber} 0 R\n")
+                // Predict the object number assuming page object, page content stream object, and interleaved
+                // transforms
+                val swathObjectNumber = objectNumber + 2 + (swath.imageNumber * 2)
+                write("/Image${swath.imageNumber} $swathObjectNumber 0 R\n")
             }
             write(">>\n")
             write(">>\n")
@@ -169,85 +259,112 @@ class PclmWriter(
 
             write("/Length ${contentStream.size()}\n")
         }
-        writeSwaths(page, swaths, page.widthPixels)
+        return swaths
     }
 
-    private fun writeSwaths(page: RenderablePage, swaths: List<Swath>, widthPixels: Int) {
-        var first = true
-        for (swath in swaths) {
-            var rawBytes: ByteArray? = null
-            pdObject {
-                val curBytes = getBytes(page, swath, first, widthPixels, rawBytes)
-                rawBytes = curBytes // Maintain for possible re-use
-                byteStream = if (curBytes.isNotEmpty()) {
-                    // Note: Consider jpg instead of flate, but switching between the two could look weird.
-                    val encoded = ByteArrayOutputStream()
-                    DeflaterOutputStream(encoded).use { it.write(rawBytes) }
-                    encoded.toByteArray()
-                } else {
-                    rawBytes
-                }
-
-                write("/Width $widthPixels\n")
-                when (settings.output.colorSpace) {
-                    ColorSpace.Rgb -> write("/ColorSpace /DeviceRGB\n")
-                    ColorSpace.Grayscale -> write("/ColorSpace /DeviceGray\n")
-                    else -> throw IOException("${settings.output.colorSpace} not supported")
-                }
-
-                write("/Height ${swath.height}\n")
-                write("/Filter /FlateDecode\n")
-                write("/Subtype /Image\n")
-                write("/Length ${byteStream!!.size}\n")
-                write("/Type /XObject\n")
-                write("/BitsPerComponent 8\n")
-                if (curBytes.isEmpty() && !first) {
-                    write("/Name /WhiteStrip\n")
-                } else {
-                    write("/Name /ColorStrip\n")
-                }
+    /** Write the image object of the swath most recently encoded by [strip], followed by its transform. */
+    private fun writeStrip(strip: Strip) {
+        pdObject {
+            // Note: Consider jpg instead of flate, but switching between the two could look weird.
+            byteStream = strip.content
+            byteStreamSize = strip.contentSize
+
+            write("/Width ${strip.widthPixels}\n")
+            when (settings.output.colorSpace) {
+                ColorSpace.Rgb -> write("/ColorSpace /DeviceRGB\n")
+                ColorSpace.Grayscale -> write("/ColorSpace /DeviceGray\n")
+                else -> throw IOException("${settings.output.colorSpace} not supported")
             }
 
-            // Note: Transform first when duplex (not yet implemented)
-            pdObject {
-                byteStream = "q /Image Do Q\n".toByteArray()
-                write("/Length ${byteStream!!.size}\n")
+            write("/Height ${strip.swath.height}\n")
+            write("/Filter /FlateDecode\n")
+            write("/Subtype /Image\n")
+            write("/Length $byteStreamSize\n")
+            write("/Type /XObject\n")
+            write("/BitsPerComponent 8\n")
+            if (strip.blank) {
+                write("/Name /WhiteStrip\n")
+            } else {
+                write("/Name /ColorStrip\n")
             }
+        }
 
-            flush()
-            first = false
+        // Note: Transform first when duplex (not yet implemented)
+        pdObject {
+            byteStream = "q /Image Do Q\n".toByteArray()
+            write("/Length $byteStreamSize\n")
         }
+
+        flush()
     }
 
-    /** Obtain bytes from a renderable page */
-    private fun getBytes(
-        page: RenderablePage,
-        swath: Swath,
-        forceNonBlank: Boolean,
-        widthPixels: Int,
-        bytes: ByteArray?
-    ): ByteArray {
-        var renderBytes = bytes
-        val size = swath.height * widthPixels * settings.output.colorSpace.bytesPerPixel
-        if (renderBytes?.size != size) {
-            renderBytes = ByteArray(size)
+    /** Buffers used to render and compress one swath at a time. */
+    private inner class Strip {
+        private var pixels = ByteArray(0)
+        private val deflater = Deflater()
+        private val deflated = ReusableByteArrayOutputStream()
+        private var closed = false
+
+        /** The swath most recently encoded. */
+        lateinit var swath: Swath
+            private set
+
+        /** Width of the page holding [swath]. */
+        var widthPixels = 0
+            private set
+
+        /** True if [swath] was found to be blank, in which case [contentSize] is zero. */
+        var blank = false
+            private set
+
+        /** Holds compressed pixels of [swath] in its first [contentSize] bytes until the next [encode]. */
+        val content: ByteArray
+            get() = deflated.array
+
+        /** Number of compressed bytes in [content]. */
+        var contentSize = 0
+            private set
+
+        init {
+            openStrips++
+        }
+
+        /** Render and compress [swath] of [page], which is blank only if not the [first] on the page. */
+        @Synchronized
+        fun encode(page: RenderablePage, swath: Swath, first: Boolean) {
+            check(!closed) { "Strip is closed" }
+            this.swath = swath
+            widthPixels = page.widthPixels
+            val size = swath.height * page.widthPixels * settings.output.colorSpace.bytesPerPixel
+            if (pixels.size != size) {
+                pixels = ByteArray(size)
+            }
+
+            page.render(
+                yOffset = swath.yOffset, swathHeight = swath.height, colorSpace = settings.output.colorSpace,
+                byteArray = pixels
+            )
+
+            blank = !first && pixels.all { it == BLANK }
+            deflated.reset()
+            if (!blank && pixels.isNotEmpty()) {
+                deflater.reset()
+                DeflaterOutputStream(deflated, deflater).apply {
+                    write(pixels)
+                    finish()
+                }
+            }
+            contentSize = deflated.size
         }
 
-        page.render(
-            yOffset = swath.yOffset, swathHeight = swath.height, colorSpace = settings.output.colorSpace,
-            byteArray = renderBytes
-        )
-
-        if (forceNonBlank) return renderBytes
-
-        // Check to see if blank
-        val blank: Byte = BLANK
-        return if (renderBytes.firstOrNull { it != blank } == null) {
-            // All bytes are blank so return an empty array
-            ByteArray(0)
-        } else {
-            // At least one non-blank byte so return normal array
-            renderBytes
+        /** Release the compressor, waiting for any encoding in progress to finish. */
+        @Synchronized
+        fun close() {
+            if (!closed) {
+                closed = true
+                deflater.end()
+                openStrips--
+            }
         }
     }
 
@@ -306,8 +423,8 @@ class PclmWriter(
         if (context.byteStream != null) {
             write("stream\n")
             flush()
-            outputStream.write(context.byteStream!!)
-            written += context.byteStream!!.size
+            outputStream.write(context.byteStream!!, 0, context.byteStreamSize)
+            written += context.byteStreamSize
             write("\nendstream\n")
         } else if (context.charStream != null) {
             write("stream\n")
@@ -322,11 +439,20 @@ class PclmWriter(
     private class InObject(val objectNumber: Int) {
         /** An array of bytes to include with this object as a stream */
         var byteStream: ByteArray? = null
+            set(value) {
+                field = value
+                byteStreamSize = value?.size ?: 0
+            }
+        /** Number of bytes at the start of [byteStream] to include */
+        var byteStreamSize = 0
         /** An array of chars to encode UTF-8 and include with this object as a stream */
         var charStream: CharArray? = null
     }
 
-    private companion object {
+    companion object {
+        /** Default maximum number of strips rendered and compressed ahead of output when using an executor. */
+        const val DEFAULT_MAX_PENDING = 32
+
         private const val BLANK = 0xFF.toByte()
         private const val POINTS_PER_INCH: Int = 72
         private const val CATALOG_OBJECT_NUMBER = 1
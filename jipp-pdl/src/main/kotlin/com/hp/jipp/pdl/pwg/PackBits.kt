@@ -1,13 +1,14 @@
-// © Copyright 2018 - 2025 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.pdl.pwg
 
 import com.hp.jipp.pdl.pwg.PwgSettings.Companion.BITS_PER_BYTE
-import java.io.ByteArrayOutputStream
+import com.hp.jipp.pdl.util.ReusableByteArrayOutputStream
 import java.io.IOException
 import java.io.InputStream
 import java.io.OutputStream
+import java.util.Arrays
 import kotlin.math.ceil
 
 /**
@@ -20,172 +21,170 @@ class PackBits(
     /** Total number of pixels on each horizontal line */
     private val pixelsPerLine: Int
 ) {
+    private val bytesPerPixel = ceil(bitsPerPixel.toDouble() / BITS_PER_BYTE).toInt()
+
+    /** Number of bytes in each line of pixels to be encoded */
+    private val encodedLineBytes = bytesPerPixel * pixelsPerLine
+
+    /** Number of bytes in each line of decoded pixels */
+    private val decodedLineBytes = ceil(pixelsPerLine * bitsPerPixel.toDouble() / BITS_PER_BYTE).toInt()
+
+    /** Largest number of bytes which could be produced when encoding one line */
+    private val maxEncodedLineBytes = 1 + pixelsPerLine * (1 + bytesPerPixel)
 
     /** Reads [inputPixels] until there are no more, writing encoded bytes to [outputBytes] */
     fun encode(inputPixels: InputStream, outputBytes: OutputStream) {
-        EncodeContext(
-            inputPixels,
-            outputBytes,
-            ceil(bitsPerPixel.toDouble() / BITS_PER_BYTE).toInt(),
-            pixelsPerLine
-        ).encode()
-    }
-
-    /** Manage the mutable context during encoding */
-    private class EncodeContext(
-        private val pixelsIn: InputStream,
-        private val bytesOut: OutputStream,
-        private val bytesPerPixel: Int, // bitsPerPixel: Int,
-        pixelsPerLine: Int
-    ) {
-        private val bytesPerLine =
-            bytesPerPixel * pixelsPerLine // ceil(bitsPerPixel.toDouble() / BITS_PER_BYTE * pixelsPerLine).toInt()
-        private var lineArrayValid = false
-        private var lineArray = ByteArray(bytesPerLine)
-        private var nextLineArrayValid = false
-        private var nextLineArray = ByteArray(bytesPerLine)
-        private var lineRepeatCount = 0
-        private var bytePos: Int = 0
-        private var pixelCount: Int = 0
-
-        /** Consume the next event from the current encoding context */
-        fun encode() {
-            while (readNextLine()) {
-                bytesOut.write(lineRepeatCount - 1)
-                encodePixelGroups()
+        var line = ByteArray(encodedLineBytes)
+        var nextLine = ByteArray(encodedLineBytes)
+        var nextLineValid = false
+        val encoded = ReusableByteArrayOutputStream(maxEncodedLineBytes)
+        while (nextLineValid || inputPixels.readLine(line)) {
+            if (nextLineValid) {
+                // Take the line held from last time
+                val swap = line
+                line = nextLine
+                nextLine = swap
+                nextLineValid = false
             }
-        }
 
-        private fun encodePixelGroups() {
-            bytePos = 0
-            while (bytePos < lineArray.size) {
-                if (bytePos + bytesPerPixel == lineArray.size) {
-                    // Exactly one pixel left so encode it as repeating of 1
-                    pixelCount = 1
-                    encodeRepeatingPixelGroup()
-                } else if (lineArray.equals(bytePos, bytesPerPixel, lineArray, bytePos + bytesPerPixel)) {
-                    pixelCount = 2
-                    seekNonMatchingPixel()
-                    encodeRepeatingPixelGroup()
+            // Read additional lines to see if there are repeats
+            var lineRepeatCount = 1
+            while (lineRepeatCount < MAX_LINE_REPEAT && inputPixels.readLine(nextLine)) {
+                if (line.contentEquals(nextLine)) {
+                    lineRepeatCount++
                 } else {
-                    // Non-repeating pixels, seek the first two matching pixels at end
-                    pixelCount = 2
-                    seekMatchingPixels()
-                    if (pixelCount == 1) {
-                        encodeRepeatingPixelGroup()
-                    } else {
-                        encodeNonRepeatingPixelGroup()
-                    }
+                    // We found a different line so hold for later
+                    nextLineValid = true
+                    break
                 }
             }
-        }
 
-        private fun seekNonMatchingPixel() {
-            // Multiple repeating pixels, seek EOL or non-matching pixel
-            var nextPixelIndex = bytePos + pixelCount * bytesPerPixel
-            while (pixelCount < MAX_GROUP &&
-                nextPixelIndex < lineArray.size &&
-                lineArray.equals(bytePos, bytesPerPixel, lineArray, nextPixelIndex)
-            ) {
-                pixelCount++
-                nextPixelIndex += bytesPerPixel
-            }
+            encoded.reset()
+            encodeLine(line, 0, lineRepeatCount, encoded)
+            encoded.writeTo(outputBytes)
         }
+    }
 
-        private fun seekMatchingPixels() {
-            var nextPixelIndex = bytePos + pixelCount * bytesPerPixel
-            while (nextPixelIndex < lineArray.size && pixelCount < MAX_GROUP) {
-                if (lineArray.equals(
-                        nextPixelIndex - bytesPerPixel, bytesPerPixel,
-                        lineArray, nextPixelIndex
-                    )
-                ) {
-                    // We found two matching pixels so back up
-                    pixelCount--
-                    break
-                } else {
-                    pixelCount++
-                    nextPixelIndex += bytesPerPixel
-                }
-            }
+    /** Read a whole line into [into], returning false if there are no more lines */
+    private fun InputStream.readLine(into: ByteArray): Boolean {
+        var bytesRead = 0
+        while (bytesRead < into.size) {
+            val count = read(into, bytesRead, into.size - bytesRead)
+            if (count == -1) break
+            bytesRead += count
         }
-
-        private fun encodeRepeatingPixelGroup() {
-            bytesOut.write(pixelCount - 1)
-            bytesOut.write(lineArray, bytePos, bytesPerPixel)
-            bytePos += pixelCount * bytesPerPixel
+        return when (bytesRead) {
+            0 -> false
+            into.size -> true
+            else -> throw IOException("Could not read whole line ($bytesRead bytes instead of ${into.size}")
         }
+    }
 
-        private fun encodeNonRepeatingPixelGroup() {
-            bytesOut.write(NON_REPEAT_SUBTRACT_FROM - pixelCount)
-            bytesOut.write(lineArray, bytePos, bytesPerPixel * pixelCount)
-            bytePos += pixelCount * bytesPerPixel
+    /**
+     * Encode whole lines of pixels found in [length] bytes of [inputPixels] starting at [offset], appending
+     * the encoded bytes to [outputBytes].
+     */
+    fun encode(inputPixels: ByteArray, offset: Int, length: Int, outputBytes: ReusableByteArrayOutputStream) {
+        if (length % encodedLineBytes != 0) {
+            throw IOException("Could not read whole line (${length % encodedLineBytes} bytes left over)")
         }
-
-        /** Compare a section of this ByteArray with a section of the same length in another byte array */
-        private fun ByteArray.equals(offset: Int, length: Int, other: ByteArray, otherOffset: Int): Boolean {
-            for (index in 0 until length) {
-                if (this[offset + index] != other[otherOffset + index]) return false
+        val end = offset + length
+        var line = offset
+        while (line < end) {
+            // Count following lines which repeat this one
+            var lineRepeatCount = 1
+            var nextLine = line + encodedLineBytes
+            while (lineRepeatCount < MAX_LINE_REPEAT && nextLine < end &&
+                inputPixels.equals(line, encodedLineBytes, nextLine)
+            ) {
+                lineRepeatCount++
+                nextLine += encodedLineBytes
             }
-            return true
+            encodeLine(inputPixels, line, lineRepeatCount, outputBytes)
+            line = nextLine
         }
+    }
 
-        @Suppress("LoopWithTooManyJumpStatements")
-        private fun readNextLine(): Boolean {
-            lineArrayValid = false
-
-            // Take the next line if we can
-            if (nextLineArrayValid) {
-                val swap = lineArray
-                lineArray = nextLineArray
-                nextLineArray = swap
-                nextLineArrayValid = false
-                lineArrayValid = true
-            }
-
-            // Read a new line if we need it
-            if (!lineArrayValid) {
-                if (!readLine(lineArray)) return false
-            }
+    /** Encode the line of pixels at [lineStart], to be repeated [lineRepeatCount] times, into [output] */
+    private fun encodeLine(
+        pixels: ByteArray,
+        lineStart: Int,
+        lineRepeatCount: Int,
+        output: ReusableByteArrayOutputStream
+    ) {
+        output.ensureCapacity(maxEncodedLineBytes)
+        val out = output.array
+        var outPos = output.size
+        out[outPos++] = (lineRepeatCount - 1).toByte()
 
-            // Now read additional lines beyond lineIn to see if there are repeats
-            lineRepeatCount = 1
-            while (lineRepeatCount <= MAX_LINE_REPEAT) {
-                if (readLine(nextLineArray)) {
-                    if (lineArray.contentEquals(nextLineArray)) {
-                        lineRepeatCount++
-                    } else {
-                        // We found a different line so hold for later
-                        nextLineArrayValid = true
+        val lineEnd = lineStart + encodedLineBytes
+        var bytePos = lineStart
+        while (bytePos < lineEnd) {
+            var pixelCount: Int
+            val repeating: Boolean
+            if (bytePos + bytesPerPixel == lineEnd) {
+                // Exactly one pixel left so encode it as repeating of 1
+                pixelCount = 1
+                repeating = true
+            } else if (pixels.equals(bytePos, bytesPerPixel, bytePos + bytesPerPixel)) {
+                // Multiple repeating pixels, seek EOL or non-matching pixel
+                pixelCount = 2
+                var nextPixelIndex = bytePos + pixelCount * bytesPerPixel
+                while (pixelCount < MAX_GROUP && nextPixelIndex < lineEnd &&
+                    pixels.equals(bytePos, bytesPerPixel, nextPixelIndex)
+                ) {
+                    pixelCount++
+                    nextPixelIndex += bytesPerPixel
+                }
+                repeating = true
+            } else {
+                // Non-repeating pixels, seek the first two matching pixels at end
+                pixelCount = 2
+                var nextPixelIndex = bytePos + pixelCount * bytesPerPixel
+                while (nextPixelIndex < lineEnd && pixelCount < MAX_GROUP) {
+                    if (pixels.equals(nextPixelIndex - bytesPerPixel, bytesPerPixel, nextPixelIndex)) {
+                        // We found two matching pixels so back up
+                        pixelCount--
                         break
                     }
-                } else {
-                    // No more lines to read
-                    nextLineArrayValid = false
-                    break
+                    pixelCount++
+                    nextPixelIndex += bytesPerPixel
                 }
+                repeating = pixelCount == 1
             }
-            return true
-        }
 
-        private fun readLine(into: ByteArray): Boolean {
-            return when (val bytesRead = pixelsIn.read(into)) {
-                -1 -> false
-                into.size -> true
-                else -> throw IOException("Could not read whole line ($bytesRead bytes instead of ${lineArray.size}")
+            if (repeating) {
+                out[outPos++] = (pixelCount - 1).toByte()
+                System.arraycopy(pixels, bytePos, out, outPos, bytesPerPixel)
+                outPos += bytesPerPixel
+            } else {
+                out[outPos++] = (NON_REPEAT_SUBTRACT_FROM - pixelCount).toByte()
+                System.arraycopy(pixels, bytePos, out, outPos, bytesPerPixel * pixelCount)
+                outPos += bytesPerPixel * pixelCount
             }
+            bytePos += pixelCount * bytesPerPixel
         }
+        output.size = outPos
+    }
+
+    /** Compare a section of this ByteArray with another section of the same length */
+    private fun ByteArray.equals(offset: Int, length: Int, otherOffset: Int): Boolean {
+        for (index in 0 until length) {
+            if (this[offset + index] != this[otherOffset + index]) return false
+        }
+        return true
     }
 
     /**
      * Read PackBits-encoded [inputBytes] into pixels in the OutputStream until [lines] have been reached.
      */
     fun decode(inputBytes: InputStream, outputPixels: OutputStream, lines: Int) {
+        val line = ByteArray(decodedLineBytes)
         var linesWritten = 0
         while (linesWritten < lines) {
             val lineRepeat = inputBytes.read()
             if (lineRepeat == -1) throw IOException("Too few lines (read $linesWritten, expected $lines)")
-            val line: ByteArray = decodeLine(inputBytes, pixelsPerLine)
+            decodeLine(inputBytes, line)
             for (i in 0 until (lineRepeat + 1)) {
                 linesWritten++
                 outputPixels.write(line)
@@ -194,36 +193,228 @@ class PackBits(
         if (linesWritten > lines) throw IOException("Too many lines (read $linesWritten, expected $lines)")
     }
 
-    private fun decodeLine(bytes: InputStream, pixelsPerLine: Int): ByteArray {
-        val pixels = ByteArrayOutputStream()
-        val pixel = ByteArray(ceil(bitsPerPixel.toDouble() / BITS_PER_BYTE).toInt())
-        while (pixels.size() < pixelsPerLine * bitsPerPixel.toDouble() / BITS_PER_BYTE) {
+    /** Decode one line of pixels from [bytes] into [line]. */
+    private fun decodeLine(bytes: InputStream, line: ByteArray) {
+        var pos = 0
+        while (pos < line.size) {
             val control = bytes.read()
             if (control == -1) throw IOException("EOF before EOL")
             if (control < MAX_GROUP) {
-                bytes.read(pixel)
-                for (i in 0 until control + 1) {
-                    pixels.write(pixel)
-                }
+                val count = (control + 1) * bytesPerPixel
+                checkLineLength(pos + count)
+                bytes.readFully(line, pos, bytesPerPixel)
+                line.repeat(pos, bytesPerPixel, count)
+                pos += count
             } else {
                 // 257 - control = count
-                for (i in 0 until (NON_REPEAT_SUBTRACT_FROM - control)) {
-                    bytes.read(pixel)
-                    pixels.write(pixel)
-                }
+                val count = (NON_REPEAT_SUBTRACT_FROM - control) * bytesPerPixel
+                checkLineLength(pos + count)
+                bytes.readFully(line, pos, count)
+                pos += count
             }
         }
-        if (pixels.size() > ceil(pixelsPerLine * bitsPerPixel.toDouble() / BITS_PER_BYTE)) {
-            throw IOException(
-                "Line too long; ${pixels.size()} with max" + " ${pixelsPerLine / bitsPerPixel * BITS_PER_BYTE}"
-            )
+    }
+
+    private fun InputStream.readFully(into: ByteArray, offset: Int, length: Int) {
+        var bytesRead = 0
+        while (bytesRead < length) {
+            val count = read(into, offset + bytesRead, length - bytesRead)
+            if (count == -1) throw IOException("EOF before EOL")
+            bytesRead += count
+        }
+    }
+
+    private fun checkLineLength(length: Int) {
+        if (length > decodedLineBytes) {
+            throw IOException("Line too long; $length with max $decodedLineBytes")
+        }
+    }
+
+    /**
+     * Decode [lines] lines of PackBits-encoded [inputBytes], starting at [inputOffset], into [outputPixels]
+     * starting at [outputOffset]. Returns the offset in [inputBytes] following the last line decoded.
+     */
+    fun decode(inputBytes: ByteArray, inputOffset: Int, outputPixels: ByteArray, outputOffset: Int, lines: Int): Int {
+        var inPos = inputOffset
+        var outPos = outputOffset
+        var linesWritten = 0
+        while (linesWritten < lines) {
+            if (inPos >= inputBytes.size) throw IOException("Too few lines (read $linesWritten, expected $lines)")
+            val lineRepeat = (inputBytes[inPos++].toInt() and BYTE_MASK) + 1
+            linesWritten += lineRepeat
+            if (linesWritten > lines) throw IOException("Too many lines (read $linesWritten, expected $lines)")
+
+            // Decode the first line, then copy it for any repeats
+            inPos = decodeLine(inputBytes, inPos, outputPixels, outPos, true)
+            outputPixels.repeat(outPos, decodedLineBytes, decodedLineBytes * lineRepeat)
+            outPos += decodedLineBytes * lineRepeat
+        }
+        return inPos
+    }
+
+    /**
+     * Decode the pixels of one line from [input] at [inputOffset] into [output] at [outputOffset], if [write]
+     * is set. Returns the offset in [input] following the line.
+     */
+    private fun decodeLine(
+        input: ByteArray,
+        inputOffset: Int,
+        output: ByteArray,
+        outputOffset: Int,
+        write: Boolean
+    ): Int {
+        var inPos = inputOffset
+        var linePos = 0
+        while (linePos < decodedLineBytes) {
+            if (inPos >= input.size) throw IOException("EOF before EOL")
+            val control = input[inPos++].toInt() and BYTE_MASK
+            val repeating = control < MAX_GROUP
+            val pixelCount = if (repeating) control + 1 else NON_REPEAT_SUBTRACT_FROM - control
+            val count = pixelCount * bytesPerPixel
+            checkLineLength(linePos + count)
+            val inCount = if (repeating) bytesPerPixel else count
+            if (inPos + inCount > input.size) throw IOException("EOF before EOL")
+            if (write) {
+                System.arraycopy(input, inPos, output, outputOffset + linePos, inCount)
+                if (repeating) output.repeat(outputOffset + linePos, bytesPerPixel, count)
+            }
+            inPos += inCount
+            linePos += count
+        }
+        return inPos
+    }
+
+    /**
+     * Return a [LineIndex] locating each of [lines] lines of PackBits-encoded [inputBytes] starting at
+     * [inputOffset], so that they may later be decoded starting from any line.
+     */
+    fun index(inputBytes: ByteArray, inputOffset: Int, lines: Int): LineIndex {
+        // Each line-repeat group begins with its repeat count followed by the encoded line
+        val firstLines = IntArray(lines)
+        val offsets = IntArray(lines)
+        var groups = 0
+        var inPos = inputOffset
+        var line = 0
+        while (line < lines) {
+            if (inPos >= inputBytes.size) throw IOException("Too few lines (read $line, expected $lines)")
+            firstLines[groups] = line
+            offsets[groups] = inPos
+            groups++
+            line += (inputBytes[inPos++].toInt() and BYTE_MASK) + 1
+            inPos = decodeLine(inputBytes, inPos, inputBytes, 0, false)
+        }
+        if (line > lines) throw IOException("Too many lines (read $line, expected $lines)")
+        return LineIndex(firstLines.copyOf(groups), offsets.copyOf(groups), lines)
+    }
+
+    /**
+     * Copy [lines] lines of PackBits-encoded data from [inputBytes] to [outputBytes] without decoding their pixels,
+     * returning a [LineIndex] locating each line within [outputBytes]. Only control bytes are read individually.
+     */
+    fun read(inputBytes: InputStream, outputBytes: ReusableByteArrayOutputStream, lines: Int): LineIndex {
+        val firstLines = IntArray(lines)
+        val offsets = IntArray(lines)
+        var groups = 0
+        var line = 0
+        while (line < lines) {
+            val lineRepeat = inputBytes.read()
+            if (lineRepeat == -1) throw IOException("Too few lines (read $line, expected $lines)")
+            firstLines[groups] = line
+            offsets[groups] = outputBytes.size
+            groups++
+            line += lineRepeat + 1
+            outputBytes.write(lineRepeat)
+            readLine(inputBytes, outputBytes)
+        }
+        if (line > lines) throw IOException("Too many lines (read $line, expected $lines)")
+        return LineIndex(firstLines.copyOf(groups), offsets.copyOf(groups), lines)
+    }
+
+    /** Copy the encoded pixels of one line from [input] to [output]. */
+    private fun readLine(input: InputStream, output: ReusableByteArrayOutputStream) {
+        var linePos = 0
+        while (linePos < decodedLineBytes) {
+            val control = input.read()
+            if (control == -1) throw IOException("EOF before EOL")
+            output.write(control)
+            val repeating = control < MAX_GROUP
+            val pixelCount = if (repeating) control + 1 else NON_REPEAT_SUBTRACT_FROM - control
+            val count = pixelCount * bytesPerPixel
+            checkLineLength(linePos + count)
+            val inCount = if (repeating) bytesPerPixel else count
+            output.ensureCapacity(inCount)
+            input.readFully(output.array, output.size, inCount)
+            output.size += inCount
+            linePos += count
+        }
+    }
+
+    /**
+     * Decode [lines] lines starting at [firstLine] of PackBits-encoded [inputBytes], located by [index], into
+     * [outputPixels] starting at [outputOffset].
+     */
+    @Suppress("LongParameterList")
+    fun decode(
+        inputBytes: ByteArray,
+        index: LineIndex,
+        firstLine: Int,
+        outputPixels: ByteArray,
+        outputOffset: Int,
+        lines: Int
+    ) {
+        if (firstLine < 0 || lines < 0 || firstLine + lines > index.lines) {
+            throw IOException("Lines $firstLine to ${firstLine + lines} not within ${index.lines}")
+        }
+        // Start with the group containing firstLine, which may begin on an earlier line
+        var group = index.groupOf(firstLine)
+        var line = index.firstLines[group]
+        var outPos = outputOffset
+        while (line < firstLine + lines) {
+            val inPos = index.offsets[group]
+            val lineRepeat = (inputBytes[inPos].toInt() and BYTE_MASK) + 1
+            val count = minOf(line + lineRepeat, firstLine + lines) - maxOf(line, firstLine)
+            decodeLine(inputBytes, inPos + 1, outputPixels, outPos, true)
+            outputPixels.repeat(outPos, decodedLineBytes, decodedLineBytes * count)
+            outPos += decodedLineBytes * count
+            line += lineRepeat
+            group++
+        }
+    }
+
+    /** Locations of the line-repeat groups within PackBits-encoded data, produced by [index]. */
+    class LineIndex internal constructor(
+        /** The first line of each line-repeat group. */
+        internal val firstLines: IntArray,
+        /** The offset of each line-repeat group in the encoded data. */
+        internal val offsets: IntArray,
+        /** Total number of lines indexed. */
+        val lines: Int
+    ) {
+        /** Return the line-repeat group containing [line]. */
+        internal fun groupOf(line: Int): Int {
+            val found = Arrays.binarySearch(firstLines, line)
+            // If not the first line of a group, it is in the group preceding the insertion point
+            return if (found >= 0) found else -found - 2
+        }
+    }
+
+    /**
+     * Fill [total] bytes starting at [start] by repeating the first [unit] bytes, which are already present,
+     * doubling the size of each copy.
+     */
+    private fun ByteArray.repeat(start: Int, unit: Int, total: Int) {
+        var filled = unit
+        while (filled < total) {
+            val count = minOf(filled, total - filled)
+            System.arraycopy(this, start, this, start + filled, count)
+            filled += count
         }
-        return pixels.toByteArray()
     }
 
     companion object {
         private const val MAX_GROUP = 128
         private const val MAX_LINE_REPEAT = 256
         private const val NON_REPEAT_SUBTRACT_FROM = 257
+        private const val BYTE_MASK = 0xFF
     }
 }
@@ -1,4 +1,4 @@
-// © Copyright 2018 - 2021 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.pdl.pwg
@@ -6,15 +6,21 @@ package com.hp.jipp.pdl.pwg
 import com.hp.jipp.pdl.ColorSpace
 import com.hp.jipp.pdl.RenderableDocument
 import com.hp.jipp.pdl.RenderablePage
-import com.hp.jipp.pdl.util.NullOutputStream
+import com.hp.jipp.pdl.util.ReusableByteArrayOutputStream
 import com.hp.jipp.pdl.util.TeeInputStream
 import com.hp.jipp.pdl.util.WrappedByteArrayOutputStream
 import com.hp.jipp.util.toHexString
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
 import java.io.ByteArrayInputStream
-import java.io.ByteArrayOutputStream
+import java.io.Closeable
 import java.io.DataInputStream
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
 import java.io.IOException
 import java.io.InputStream
+import java.io.OutputStream
 
 /**
  * An [InputStream] that can read a [RenderableDocument] from PWG-Raster input
@@ -26,36 +32,168 @@ class PwgReader(inputStream: InputStream) : DataInputStream(inputStream) {
      */
     fun readDocument() = PwgDocument(this)
 
+    /**
+     * Return a [PwgStreamingDocument] which reads each page from input only when it is reached during iteration,
+     * throwing IOException for unrecoverable parsing errors.
+     *
+     * If [spill] is true, input is also copied to a temporary file while it is read, so that the document can be
+     * iterated more than once.
+     */
+    @JvmOverloads
+    fun readStreamingDocument(spill: Boolean = false) = PwgStreamingDocument(this, spill)
+
     /**
      * A document sourced from PWG-Raster input. [RenderablePage] objects produced by this document can
      * be assumed to be [PwgPage] objects.
      */
     class PwgDocument internal constructor(input: DataInputStream) : RenderableDocument() {
-        private var _dpi = -1
+        private val parser = PageParser(input)
 
         override val dpi: Int
-            get() = _dpi
+            get() = parser.dpi
 
         private val pages = mutableListOf<PwgPage>()
 
+        init {
+            while (true) {
+                pages += parser.readPage() ?: break
+            }
+        }
+
+        override fun iterator(): Iterator<PwgPage> = pages.iterator()
+    }
+
+    /**
+     * A document sourced from PWG-Raster input, holding only the page most recently reached by its iterator, so
+     * that documents of any length can be read with bounded memory. [RenderablePage] objects produced by this
+     * document can be assumed to be [PwgPage] objects.
+     *
+     * Unless spilling to a temporary file, this document may be iterated only once. Operations such as
+     * [handleSides] may iterate more than once, depending on settings. If spilling, a second iteration may begin
+     * only after the first is complete, and this document should be closed when no longer needed to delete the
+     * file and close any unfinished iterations. Iterators throw IOException for unrecoverable parsing errors.
+     *
+     * Memory remains bounded when making copies or padding two-sided output, but reversing the page order holds
+     * every page in memory.
+     */
+    class PwgStreamingDocument internal constructor(input: InputStream, spill: Boolean) :
+        RenderableDocument(), Closeable {
+        private val spillFile: File? = if (spill) {
+            File.createTempFile("pwg", ".spill").apply { deleteOnExit() }
+        } else {
+            null
+        }
+        private val spillOutput: OutputStream? = spillFile?.let { BufferedOutputStream(FileOutputStream(it)) }
+        private val parser = PageParser(spillOutput?.let { TeeInputStream(input, it) } ?: input)
+        private var firstIteration = true
+        private var firstIterationComplete = false
+
+        /** Streams opened by iterations of [spillFile] which have not yet completed. */
+        private val spilledInputs = mutableSetOf<InputStream>()
+
+        /** First page header, read to determine [dpi]. */
+        private var firstHeader: PwgHeader? = parser.readHeader()
+
+        override val dpi: Int = parser.dpi
+
+        override fun iterator(): Iterator<PwgPage> {
+            if (firstIteration) {
+                firstIteration = false
+                return PageIterator(parser, firstHeader) {
+                    firstHeader = null
+                    spillOutput?.close()
+                    firstIterationComplete = true
+                }
+            }
+            if (spillFile == null) throw IllegalStateException("Document was not spilled so can be iterated only once")
+            if (!firstIterationComplete) throw IllegalStateException("First iteration is not complete")
+
+            val spilled = BufferedInputStream(FileInputStream(spillFile))
+            spilledInputs += spilled
+            return PageIterator(PageParser(spilled), null) {
+                spilledInputs -= spilled
+                spilled.close()
+            }
+        }
+
+        /** Close any unfinished iterations and delete the temporary file, if any. */
+        override fun close() {
+            spillOutput?.close()
+            spilledInputs.forEach { it.close() }
+            spilledInputs.clear()
+            spillFile?.delete()
+        }
+    }
+
+    /**
+     * Iterate over the pages read by [parser], starting with the page having [firstHeader] if known, then call
+     * [onComplete].
+     */
+    private class PageIterator(
+        private val parser: PageParser,
+        firstHeader: PwgHeader?,
+        private val onComplete: () -> Unit
+    ) : Iterator<PwgPage> {
+        private var nextHeader: PwgHeader? = firstHeader
+        private var headerRead = firstHeader != null
+
+        override fun hasNext(): Boolean {
+            if (!headerRead) {
+                // Read no further than necessary
+                nextHeader = parser.readHeader()
+                headerRead = true
+                if (nextHeader == null) onComplete()
+            }
+            return nextHeader != null
+        }
+
+        override fun next(): PwgPage {
+            if (!hasNext()) throw NoSuchElementException()
+            headerRead = false
+            return parser.readPage(nextHeader!!)
+        }
+    }
+
+    /** Reads successive pages from PWG-Raster [input], which must all have the same resolution. */
+    private class PageParser(private val input: InputStream) {
+        /** Resolution of pages read so far, or -1 if none. */
+        var dpi = -1
+            private set
+
         init {
             val magicNumbers = ByteArray(PwgWriter.MAGIC_NUMBER.size)
-            input.read(magicNumbers)
+            readFully(magicNumbers, 0)
             if (!magicNumbers.contentEquals(PwgWriter.MAGIC_NUMBER)) {
                 throw IOException(
                     "Expected ${PwgWriter.MAGIC_NUMBER.toHexString()} but read " +
                         magicNumbers.toHexString()
                 )
             }
+        }
 
+        /** Read the next page, or return null if there are no more. */
+        fun readPage(): PwgPage? = readHeader()?.let { readPage(it) }
+
+        /** Read the next page header, or return null if there are no more. */
+        fun readHeader(): PwgHeader? {
             val headerBytes = ByteArray(PwgHeader.HEADER_SIZE)
-            while (input.read(headerBytes) != -1) {
-                val header = readValidHeader(headerBytes)
-                pages += readPwgPage(header, input)
-            }
+            val first = input.read()
+            if (first == -1) return null
+            headerBytes[0] = first.toByte()
+            if (readFully(headerBytes, 1) < headerBytes.size) throw IOException("Incomplete page header")
+            return readValidHeader(headerBytes)
         }
 
-        override fun iterator(): Iterator<PwgPage> = pages.iterator()
+        /** Read into [bytes] from [offset] until full or at end of input, returning the bytes now held. */
+        private fun readFully(bytes: ByteArray, offset: Int): Int {
+            var position = offset
+            while (position < bytes.size) {
+                val count = input.read(bytes, position, bytes.size - position)
+                if (count == -1) break
+                position += count
+            }
+            return position
+        }
 
         private fun readValidHeader(headerBytes: ByteArray): PwgHeader {
             val header = PwgHeader.read(ByteArrayInputStream(headerBytes))
@@ -65,35 +203,38 @@ class PwgReader(inputStream: InputStream) : DataInputStream(inputStream) {
             if (dpi != -1 && dpi != header.hwResolutionX) {
                 throw IOException("All pages must have the same resolution (found $dpi and ${header.hwResolutionX}")
             }
-            _dpi = header.hwResolutionX
+            dpi = header.hwResolutionX
             return header
         }
 
-        private fun readPwgPage(header: PwgHeader, input: InputStream): PwgPage {
-            val pageBytes = ByteArrayOutputStream()
-            // Decode and throw away input
-            header.packBits.decode(TeeInputStream(input, pageBytes), NullOutputStream, header.height)
-            return PwgPage(header, pageBytes.toByteArray())
+        /** Read the content of the page having [header], indexing its lines as they are read. */
+        fun readPage(header: PwgHeader): PwgPage {
+            val pageBytes = ReusableByteArrayOutputStream()
+            val index = header.packBits.read(input, pageBytes, header.height)
+            return PwgPage(header, pageBytes.toByteArray(), index)
         }
     }
 
-    class PwgPage(
+    class PwgPage internal constructor(
         val header: PwgHeader,
-        private val pageBytes: ByteArray
+        private val pageBytes: ByteArray,
+        /** Location of each line in [pageBytes], so that rendering can begin at any line. */
+        private val index: PackBits.LineIndex
     ) : RenderablePage(header.width, header.height) {
+        /** Construct a page from PackBits-encoded [pageBytes], locating each of its lines. */
+        constructor(header: PwgHeader, pageBytes: ByteArray) :
+            this(header, pageBytes, header.packBits.index(pageBytes, 0, header.height))
 
         override fun render(yOffset: Int, swathHeight: Int, colorSpace: ColorSpace, byteArray: ByteArray) {
-            val input = ByteArrayInputStream(pageBytes)
-            header.packBits.decode(input, NullOutputStream, yOffset)
             if (PwgHeader.ColorSpace.from(colorSpace) == header.colorSpace) {
                 // Decode directly to the target byte array
-                header.packBits.decode(input, WrappedByteArrayOutputStream(byteArray), swathHeight)
+                header.packBits.decode(pageBytes, index, yOffset, byteArray, 0, swathHeight)
             } else {
                 // Decode into an intermediate buffer, then convert
-                val pixelOutput = ByteArrayOutputStream()
-                header.packBits.decode(input, pixelOutput, swathHeight)
+                val pixels = ByteArray(header.bytesPerLine * swathHeight)
+                header.packBits.decode(pageBytes, index, yOffset, pixels, 0, swathHeight)
                 header.colorSpace.toPdlColorSpace().convert(
-                    ByteArrayInputStream(pixelOutput.toByteArray()),
+                    ByteArrayInputStream(pixels),
                     WrappedByteArrayOutputStream(byteArray), colorSpace
                 )
             }
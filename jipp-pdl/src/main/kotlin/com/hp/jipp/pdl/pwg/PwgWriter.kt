@@ -1,14 +1,17 @@
-// © Copyright 2018 - 2021 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.pdl.pwg
 
 import com.hp.jipp.pdl.RenderableDocument
 import com.hp.jipp.pdl.RenderablePage
-import java.io.ByteArrayInputStream
-import java.io.ByteArrayOutputStream
+import com.hp.jipp.pdl.util.ReusableByteArrayOutputStream
 import java.io.DataOutputStream
 import java.io.OutputStream
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
 import kotlin.math.min
 
 /**
@@ -21,12 +24,80 @@ class PwgWriter
     /** Supply a converter here if you would like to return a customized header. */
     val headerCustomizer: (RenderablePage, PwgHeader) -> PwgHeader = { _, header -> header }
 ) : DataOutputStream(outputStream) {
+    /** Encoded bytes of the current swath, reused for each swath. */
+    private val encodedBytes = ReusableByteArrayOutputStream()
 
     /** Write a document to this [outputStream]. */
     fun write(doc: RenderableDocument) {
         write(MAGIC_NUMBER)
+        pages(doc).forEach { (page, header) ->
+            header.write(this)
+            writePageContent(page, header)
+        }
+    }
+
+    /**
+     * Write a document to this [outputStream], rendering and encoding up to [maxPending] swaths at once on
+     * [executor]. Output is identical to that of [write].
+     *
+     * Pages must allow different swaths to be rendered concurrently from any thread.
+     */
+    @JvmOverloads
+    fun write(doc: RenderableDocument, executor: Executor, maxPending: Int = DEFAULT_MAX_PENDING) {
+        require(maxPending > 0) { "maxPending must be positive" }
+        write(MAGIC_NUMBER)
+        val pending = ArrayDeque<Future<Swath>>()
+        val free = ArrayDeque<Swath>()
+
+        // Write the oldest pending output, keeping its buffers for reuse
+        fun writeNext() {
+            val swath = try {
+                pending.removeFirst().get()
+            } catch (e: ExecutionException) {
+                throw e.cause ?: e
+            }
+            swath.encoded.writeTo(this)
+            free.addLast(swath)
+        }
+
+        // Add output to be written after all that is already pending
+        fun enqueue(task: FutureTask<Swath>) {
+            if (pending.size >= maxPending) writeNext()
+            pending.addLast(task)
+        }
+
+        try {
+            pages(doc).forEach { (page, header) ->
+                // Headers are written in sequence with the swaths surrounding them
+                val headerSwath = free.removeFirstOrNull() ?: Swath()
+                headerSwath.encoded.reset()
+                header.write(headerSwath.encoded)
+                enqueue(FutureTask { headerSwath }.apply { run() })
+
+                var yOffset = 0
+                while (yOffset < page.heightPixels) {
+                    val swathY = yOffset
+                    val height = min(MAX_SWATH_HEIGHT, page.heightPixels - yOffset)
+                    val swath = free.removeFirstOrNull() ?: Swath()
+                    val task = FutureTask {
+                        swath.apply { encode(page, header, swathY, height) }
+                    }
+                    enqueue(task)
+                    executor.execute(task)
+                    yOffset += height
+                }
+            }
+            while (pending.isNotEmpty()) writeNext()
+        } finally {
+            // Abandon any work remaining after a failure
+            pending.forEach { it.cancel(true) }
+        }
+    }
+
+    /** Return each page of [doc] to be written, along with its header. */
+    private fun pages(doc: RenderableDocument): Sequence<Pair<RenderablePage, PwgHeader>> =
         doc.mapPages {
-            it.mapIndexed { num, page ->
+            it.asSequence().mapIndexed { num, page ->
                 val header = settings.buildHeader(doc, page, num)
                 when (header.feedTransform to header.crossFeedTransform) {
                     -1 to -1 -> page.rotated()
@@ -34,18 +105,14 @@ class PwgWriter
                     -1 to 1 -> page.flipY()
                     else -> page
                 }
-            }
-        }.handleSides(settings.output, settings.allowPadding).forEachIndexed { num, page ->
-            val header = headerCustomizer(page, settings.buildHeader(doc, page, num))
-            header.write(this)
-            writePageContent(page, header)
+            }.asIterable()
+        }.handleSides(settings.output, settings.allowPadding).asSequence().mapIndexed { num, page ->
+            page to headerCustomizer(page, settings.buildHeader(doc, page, num))
         }
-    }
 
     private fun writePageContent(page: RenderablePage, header: PwgHeader) {
         // Pack and write the content bytes
         var yOffset = 0
-        var size = 0
         var byteArray: ByteArray? = null
         while (yOffset < page.heightPixels) {
             val height = min(MAX_SWATH_HEIGHT, page.heightPixels - yOffset)
@@ -54,18 +121,37 @@ class PwgWriter
                 byteArray = ByteArray(renderSize)
             }
             page.render(yOffset, height, settings.output.colorSpace, byteArray)
-            val encodedBytes = ByteArrayOutputStream()
-            header.packBits.encode(ByteArrayInputStream(byteArray), encodedBytes)
-            write(encodedBytes.toByteArray())
-            size += encodedBytes.size()
+            encodedBytes.reset()
+            header.packBits.encode(byteArray, 0, renderSize, encodedBytes)
+            encodedBytes.writeTo(this)
             yOffset += height
         }
     }
 
+    /** Buffers used to render and encode one swath, or to hold a page header. */
+    private inner class Swath {
+        private var pixels = ByteArray(0)
+        val encoded = ReusableByteArrayOutputStream()
+
+        /** Render and encode the swath of [page] at [yOffset] with [height] lines into [encoded]. */
+        fun encode(page: RenderablePage, header: PwgHeader, yOffset: Int, height: Int) {
+            val renderSize = page.renderSize(height, settings.output.colorSpace)
+            if (pixels.size != renderSize) {
+                pixels = ByteArray(renderSize)
+            }
+            page.render(yOffset, height, settings.output.colorSpace, pixels)
+            encoded.reset()
+            header.packBits.encode(pixels, 0, renderSize, encoded)
+        }
+    }
+
     companion object {
         val MAGIC_NUMBER = "RaS2".toByteArray()
 
         // Pack and encode only this many lines at a time to conserve RAM
         const val MAX_SWATH_HEIGHT = 64
+
+        /** Default maximum number of swaths rendered and encoded ahead of output when using an executor. */
+        const val DEFAULT_MAX_PENDING = 32
     }
 }
@@ -0,0 +1,57 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.pdl.util
+
+import java.io.OutputStream
+
+/**
+ * An unsynchronized output stream collecting bytes in an array which is kept when [reset], so that it can be
+ * filled again without reallocation.
+ */
+class ReusableByteArrayOutputStream @JvmOverloads constructor(initialCapacity: Int = DEFAULT_CAPACITY) :
+    OutputStream() {
+    /** The array holding written bytes, replaced by a larger one when necessary. */
+    internal var array = ByteArray(initialCapacity)
+        private set
+
+    /** Number of bytes written since the last [reset]. */
+    var size: Int = 0
+        internal set
+
+    /** Make room for at least [count] more bytes to be written directly into [array] following [size]. */
+    internal fun ensureCapacity(count: Int) {
+        val required = size + count
+        if (required > array.size) {
+            array = array.copyOf(maxOf(required, array.size * 2))
+        }
+    }
+
+    override fun write(byte: Int) {
+        ensureCapacity(1)
+        array[size++] = byte.toByte()
+    }
+
+    override fun write(source: ByteArray, offset: Int, length: Int) {
+        ensureCapacity(length)
+        source.copyInto(array, size, offset, offset + length)
+        size += length
+    }
+
+    /** Discard all bytes written, retaining the underlying array. */
+    fun reset() {
+        size = 0
+    }
+
+    /** Write all bytes written since the last [reset] to [output]. */
+    fun writeTo(output: OutputStream) {
+        output.write(array, 0, size)
+    }
+
+    /** Return a copy of all bytes written since the last [reset]. */
+    fun toByteArray(): ByteArray = array.copyOf(size)
+
+    companion object {
+        private const val DEFAULT_CAPACITY = 8192
+    }
+}
@@ -1,4 +1,4 @@
-// © Copyright 2020 HP Development Company, L.P.
+// © Copyright 2020 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package com.hp.jipp.pdl.util
@@ -15,7 +15,7 @@ class TeeInputStream(
 ) : InputStream() {
 
     override fun read() =
-        source.read().also { duplicate.write(it) }
+        source.read().also { if (it != -1) duplicate.write(it) }
 
     override fun available() = source.available()
 
@@ -31,11 +31,12 @@ class TeeInputStream(
 
     override fun read(bytes: ByteArray, offset: Int, length: Int) =
         source.read(bytes, offset, length).also {
-            duplicate.write(bytes, offset, length)
+            // Duplicate only the bytes actually read
+            if (it > 0) duplicate.write(bytes, offset, it)
         }
 
     override fun read(bytes: ByteArray) =
-        source.read(bytes).also { duplicate.write(bytes) }
+        read(bytes, 0, bytes.size)
 
     override fun reset() {
         source.reset()
@@ -1,15 +1,26 @@
-// © Copyright 2018 - 2021 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package pclm
 
+import com.hp.jipp.model.PclmRasterBackSide
+import com.hp.jipp.model.Sides
 import com.hp.jipp.pdl.ColorSpace
 import com.hp.jipp.pdl.OutputSettings
 import com.hp.jipp.pdl.pclm.PclmSettings
 import com.hp.jipp.pdl.pclm.PclmWriter
+import com.hp.jipp.pdl.pwg.PwgReader
+import com.hp.jipp.pdl.pwg.PwgWriter
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.fail
 import org.junit.Test
 import util.ByteWindow
+import util.PageUtil.failingDocument
+import util.PageUtil.patternDocument
+import util.PageUtil.withExecutor
 import util.RandomDocument
+import java.io.ByteArrayInputStream
 import java.io.ByteArrayOutputStream
 import java.io.File
 
@@ -25,6 +36,74 @@ class PclmTest {
         cyclePclm(PclmSettings(stripHeight = 32, output = OutputSettings(colorSpace = ColorSpace.Grayscale)))
     }
 
+    @Test
+    fun parallelMatchesSequential() = withExecutor(4) { executor ->
+        val settingsList = listOf(
+            PclmSettings(stripHeight = 32),
+            PclmSettings(stripHeight = 16, output = OutputSettings(colorSpace = ColorSpace.Grayscale)),
+            PclmSettings(
+                output = OutputSettings(sides = Sides.twoSidedLongEdge),
+                stripHeight = 32,
+                backSide = PclmRasterBackSide.rotated
+            )
+        )
+        settingsList.forEach { settings ->
+            val doc = patternDocument(3)
+            val sequential = ByteArrayOutputStream().also { PclmWriter(it, settings).write(doc) }.toByteArray()
+            listOf(1, 3, PclmWriter.DEFAULT_MAX_PENDING).forEach { maxPending ->
+                val parallel = ByteArrayOutputStream()
+                val writer = PclmWriter(parallel, settings)
+                writer.write(doc, executor, maxPending)
+                assertEquals(0, writer.openStrips)
+                assertArrayEquals(sequential, parallel.toByteArray())
+                validatePclm(parallel.toByteArray())
+            }
+        }
+    }
+
+    @Test
+    fun streamingTwoSided() {
+        // A two-sided job padded with a blank page can be written while iterating a document only once
+        val pwg = ByteArrayOutputStream().also { PwgWriter(it).write(patternDocument(3)) }.toByteArray()
+        val settings = PclmSettings(output = OutputSettings(sides = Sides.twoSidedLongEdge), stripHeight = 32)
+        val expected = ByteArrayOutputStream().also {
+            PclmWriter(it, settings).write(PwgReader(ByteArrayInputStream(pwg)).readDocument())
+        }.toByteArray()
+
+        val streamed = ByteArrayOutputStream()
+        PclmWriter(streamed, settings).write(PwgReader(ByteArrayInputStream(pwg)).readStreamingDocument())
+        assertArrayEquals(expected, streamed.toByteArray())
+        assertEquals(4, Regex("/Type /Page\n").findAll(String(streamed.toByteArray(), Charsets.ISO_8859_1)).count())
+        validatePclm(streamed.toByteArray())
+    }
+
+    @Test
+    fun failureClosesStrips() {
+        val writer = PclmWriter(ByteArrayOutputStream(), PclmSettings(stripHeight = 32))
+        try {
+            writer.write(failingDocument())
+            fail("Should have thrown")
+        } catch (e: IllegalStateException) {
+            assertEquals("Render failed", e.message)
+        }
+        assertEquals(0, writer.openStrips)
+    }
+
+    @Test
+    fun parallelFailure() = withExecutor(2) { executor ->
+        // Strips rendering past the failure, or waiting to be written, must still be released
+        listOf(1, 2, 8).forEach { maxPending ->
+            val writer = PclmWriter(ByteArrayOutputStream(), PclmSettings(stripHeight = 32))
+            try {
+                writer.write(failingDocument(), executor, maxPending)
+                fail("Should have thrown")
+            } catch (e: IllegalStateException) {
+                assertEquals("Render failed", e.message)
+            }
+            assertEquals(0, writer.openStrips)
+        }
+    }
+
     private fun cyclePclm(caps: PclmSettings) {
         // Use a tall enough page so that we're assured there will be at least one blank area
         val randomDocument = RandomDocument(12345L, 2, 283.46457, 419.52756, 300)
@@ -1,4 +1,4 @@
-// © Copyright 2019 - 2021 HP Development Company, L.P.
+// © Copyright 2019 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package pwg
@@ -14,6 +14,7 @@ import com.hp.jipp.pdl.pwg.PwgReader
 import com.hp.jipp.pdl.pwg.PwgSettings
 import com.hp.jipp.pdl.pwg.PwgSettings.Companion.BITS_PER_BYTE
 import com.hp.jipp.pdl.pwg.PwgWriter
+import org.junit.Assert.assertArrayEquals
 import org.junit.Assert.assertEquals
 import org.junit.Assert.fail
 import org.junit.Ignore
@@ -21,6 +22,7 @@ import org.junit.Test
 import util.KotlinTest
 import util.PageUtil
 import util.PageUtil.BLUE
+import util.PageUtil.RED
 import util.PageUtil.describe
 import util.PageUtil.fakePage
 import java.io.ByteArrayInputStream
@@ -83,6 +85,104 @@ class PwgReaderTest {
         }
     }
 
+    /** A PWG-Raster document of three distinct pages. */
+    private fun threePages(): ByteArray {
+        val doc = object : RenderableDocument() {
+            override val dpi: Int = 1
+            val pages = listOf(
+                fakePage(BLUE, ColorSpace.Rgb),
+                fakePage(byteArrayOf(PageUtil.BLACK_BYTE), ColorSpace.Grayscale),
+                fakePage(RED, ColorSpace.Rgb)
+            )
+            override fun iterator() = pages.iterator()
+        }
+        return ByteArrayOutputStream().also { PwgWriter(it).write(doc) }.toByteArray()
+    }
+
+    /** An input stream delivering [bytes] no more than [chunk] bytes at a time, then failing if [fail] is set. */
+    private class TrickleInputStream(bytes: ByteArray, private val chunk: Int, private val fail: Boolean = false) :
+        ByteArrayInputStream(bytes) {
+        override fun read(bytes: ByteArray, offset: Int, length: Int): Int {
+            if (fail && available() == 0) throw IOException("Connection lost")
+            return super.read(bytes, offset, minOf(length, chunk))
+        }
+    }
+
+    @Test fun streaming() {
+        val bytes = threePages()
+        val expected = PwgReader(ByteArrayInputStream(bytes)).readDocument().map { describe(it) }
+
+        val read = PwgReader(TrickleInputStream(bytes, 7)).readStreamingDocument()
+        assertEquals(1, read.dpi)
+        assertEquals(expected, read.map { describe(it) })
+        try {
+            read.iterator()
+            fail("Should have thrown")
+        } catch (e: IllegalStateException) {
+            // Can't iterate twice without spilling
+        }
+    }
+
+    @Test fun streamingPageAtATime() {
+        // Pages are available before the input is complete
+        val bytes = threePages()
+        val read = PwgReader(TrickleInputStream(bytes.copyOf(bytes.size - 10), 100, fail = true))
+            .readStreamingDocument()
+        val pages = read.iterator()
+        assertEquals("...B...........", describe(pages.next()).split("\n")[3])
+        assertEquals("...K...........", describe(pages.next()).split("\n")[3])
+        try {
+            pages.next()
+            fail("Should have thrown")
+        } catch (e: IOException) {
+            assertEquals("Connection lost", e.message)
+        }
+    }
+
+    @Test fun streamingSpill() {
+        val bytes = threePages()
+        val expected = PwgReader(ByteArrayInputStream(bytes)).readDocument().map { describe(it) }
+        PwgReader(TrickleInputStream(bytes, 5)).readStreamingDocument(spill = true).use { read ->
+            assertEquals(expected, read.map { describe(it) })
+            assertEquals(expected, read.map { describe(it) })
+
+            // Copies require more than one iteration
+            val output = ByteArrayOutputStream()
+            PwgWriter(output, PwgSettings(output = OutputSettings(copies = 2))).write(read)
+            val copies = PwgReader(ByteArrayInputStream(output.toByteArray())).readDocument()
+            assertEquals(expected + expected, copies.map { describe(it) })
+        }
+    }
+
+    @Test fun streamingSpillClosesUnfinished() {
+        val read = PwgReader(ByteArrayInputStream(threePages())).readStreamingDocument(spill = true)
+        read.count()
+        val pages = read.iterator()
+        pages.next()
+        read.close()
+        try {
+            pages.next()
+            fail("Should have thrown")
+        } catch (e: IOException) {
+            // The unfinished iteration was closed
+        }
+    }
+
+    @Test fun streamingSpillPadding() {
+        val bytes = threePages()
+        val expected = PwgReader(ByteArrayInputStream(bytes)).readDocument().map { describe(it) }
+        PwgReader(ByteArrayInputStream(bytes)).readStreamingDocument(spill = true).use { read ->
+            val output = ByteArrayOutputStream()
+            PwgWriter(
+                output,
+                PwgSettings(output = OutputSettings(sides = Sides.twoSidedLongEdge), allowPadding = true)
+            ).write(read)
+            val padded = PwgReader(ByteArrayInputStream(output.toByteArray())).readDocument().map { describe(it) }
+            assertEquals(expected, padded.take(3))
+            assertEquals(4, padded.size)
+        }
+    }
+
     @Test fun `allowPadding allows padding of two-sided job`() {
         val doc = object : RenderableDocument() {
             override val dpi: Int = 1
@@ -116,6 +216,44 @@ class PwgReaderTest {
         }
     }
 
+    @Test fun renderAnySwath() {
+        // Line-repeat groups spanning swaths, including one longer than the maximum repeat count
+        val width = 7
+        val lines = listOf(
+            ByteArray(width) { 1 } to 300,
+            ByteArray(width) { it.toByte() } to 1,
+            ByteArray(width) { 2 } to 40,
+            ByteArray(width) { (it * 3).toByte() } to 2
+        )
+        val pixels = ByteArrayOutputStream().apply {
+            lines.forEach { (line, count) -> repeat(count) { write(line) } }
+        }.toByteArray()
+        val height = pixels.size / width
+        val header = PwgHeader(
+            bitsPerColor = BITS_PER_BYTE, bitsPerPixel = BITS_PER_BYTE, colorSpace = PwgHeader.ColorSpace.Sgray,
+            width = width, height = height, hwResolutionX = 100, hwResolutionY = 100
+        )
+        val encoded = ByteArrayOutputStream()
+        header.packBits.encode(ByteArrayInputStream(pixels), encoded)
+        // Lines are located both when constructing a page and when reading it
+        val input = ByteArrayOutputStream().apply {
+            write(PwgWriter.MAGIC_NUMBER)
+            header.write(this)
+            write(encoded.toByteArray())
+        }.toByteArray()
+        val pages = listOf(
+            PwgReader.PwgPage(header, encoded.toByteArray()),
+            PwgReader(ByteArrayInputStream(input)).readDocument().single()
+        )
+        for (page in pages) {
+            for ((yOffset, swathHeight) in listOf(0 to height, 0 to 1, 255 to 2, 256 to 50, 299 to 3, 301 to 42)) {
+                val swath = ByteArray(width * swathHeight)
+                page.render(yOffset, swathHeight, ColorSpace.Grayscale, swath)
+                assertArrayEquals(pixels.copyOfRange(yOffset * width, (yOffset + swathHeight) * width), swath)
+            }
+        }
+    }
+
     @Test fun shortLine() {
         // Ask PackBits to decode something which can't be decoded
         val bits = ByteArrayOutputStream()
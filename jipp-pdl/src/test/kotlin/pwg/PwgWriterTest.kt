@@ -1,4 +1,4 @@
-// © Copyright 2018 - 2025 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package pwg
@@ -14,14 +14,20 @@ import com.hp.jipp.pdl.pwg.PwgHeader
 import com.hp.jipp.pdl.pwg.PwgReader
 import com.hp.jipp.pdl.pwg.PwgSettings
 import com.hp.jipp.pdl.pwg.PwgWriter
+import com.hp.jipp.pdl.util.ReusableByteArrayOutputStream
 import com.hp.jipp.util.toWrappedHexString
+import org.junit.Assert.assertArrayEquals
 import org.junit.Assert.assertEquals
+import org.junit.Assert.fail
 import org.junit.Test
 import util.ByteWindow
 import util.PageUtil.BLUE
 import util.PageUtil.RED
 import util.PageUtil.describe
+import util.PageUtil.failingDocument
 import util.PageUtil.fakePage
+import util.PageUtil.patternDocument
+import util.PageUtil.withExecutor
 import util.RandomDocument
 import java.io.ByteArrayInputStream
 import java.io.ByteArrayOutputStream
@@ -46,6 +52,34 @@ class PwgWriterTest {
         }
     }
 
+    @Test
+    fun parallelMatchesSequential() = withExecutor(4) { executor ->
+        val settingsList = listOf(
+            PwgSettings(),
+            PwgSettings(output = OutputSettings(colorSpace = ColorSpace.Grayscale)),
+            PwgSettings(output = OutputSettings(copies = 2, sides = Sides.twoSidedLongEdge), allowPadding = true)
+        )
+        settingsList.forEach { settings ->
+            val doc = patternDocument(3)
+            val sequential = ByteArrayOutputStream().also { PwgWriter(it, settings).write(doc) }.toByteArray()
+            listOf(1, 3, PwgWriter.DEFAULT_MAX_PENDING).forEach { maxPending ->
+                val parallel = ByteArrayOutputStream()
+                PwgWriter(parallel, settings).write(doc, executor, maxPending)
+                assertArrayEquals(sequential, parallel.toByteArray())
+            }
+        }
+    }
+
+    @Test
+    fun parallelFailure() = withExecutor(2) { executor ->
+        try {
+            PwgWriter(ByteArrayOutputStream()).write(failingDocument(), executor, 2)
+            fail("Should have thrown")
+        } catch (e: IllegalStateException) {
+            assertEquals("Render failed", e.message)
+        }
+    }
+
     @Test
     fun cycleDefaultHeader() {
         val header = PwgHeader(
@@ -201,6 +235,12 @@ class PwgWriterTest {
         )
     }
 
+    @Test
+    fun manyRepeatingLines() {
+        // More identical lines than a single line repeat count can hold
+        cyclePackBits(lineLength = 4, lines = 300, bytesPerPixel = 1, original = "abcd".repeat(300))
+    }
+
     @Test
     fun packRandom1ByteBuffer() {
         val lineLength = 20
@@ -289,5 +329,14 @@ class PwgWriterTest {
         val restoredString = String(restored.toByteArray())
         println(restoredString.chunked(lineLength * bytesPerPixel).joinToString("\n"))
         assertEquals(String(original), restoredString)
+
+        // Arrays encode and decode the same way as streams
+        val packBits = PackBits(bytesPerPixel * 8, lineLength)
+        val encoded = ReusableByteArrayOutputStream(1)
+        packBits.encode(original, 0, original.size, encoded)
+        assertArrayEquals(out.toByteArray(), encoded.toByteArray())
+        val decoded = ByteArray(original.size)
+        assertEquals(encoded.size, packBits.decode(encoded.toByteArray(), 0, decoded, 0, lines))
+        assertArrayEquals(original, decoded)
     }
 }
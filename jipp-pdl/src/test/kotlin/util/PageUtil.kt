@@ -1,11 +1,14 @@
-// © Copyright 2021 HP Development Company, L.P.
+// © Copyright 2021 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package util
 
 import com.hp.jipp.pdl.ColorSpace
+import com.hp.jipp.pdl.RenderableDocument
 import com.hp.jipp.pdl.RenderablePage
 import java.io.ByteArrayOutputStream
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import kotlin.math.min
 
 object PageUtil {
@@ -83,4 +86,53 @@ object PageUtil {
             }
         }
     }
+
+    /** A document whose pages render the same content for each swath regardless of order or thread. */
+    fun patternDocument(pageCount: Int): RenderableDocument = object : RenderableDocument() {
+        override val dpi = 300
+        val pages = (0 until pageCount).map { num ->
+            object : RenderablePage(250, 700 + num * 37) {
+                override fun render(yOffset: Int, swathHeight: Int, colorSpace: ColorSpace, byteArray: ByteArray) {
+                    val lineBytes = byteArray.size / swathHeight
+                    for (line in 0 until swathHeight) {
+                        val y = yOffset + line
+                        for (x in 0 until lineBytes) {
+                            // Bands of blank lines, runs of pixels and noise
+                            byteArray[line * lineBytes + x] = when {
+                                (y / 50) % 3 == num % 3 -> 0xFF.toByte()
+                                (x / 20) % 2 == 0 -> (y / 7).toByte()
+                                else -> ((x * 31 + y * 17 + num) * 2654435761L shr 13).toByte()
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        override fun iterator() = pages.iterator()
+    }
+
+    /** A single-page document whose page throws "Render failed" for any swath starting at line 500 or below. */
+    fun failingDocument(): RenderableDocument = object : RenderableDocument() {
+        override val dpi = 300
+        val pages = listOf(
+            object : RenderablePage(100, 1000) {
+                override fun render(yOffset: Int, swathHeight: Int, colorSpace: ColorSpace, byteArray: ByteArray) {
+                    if (yOffset >= 500) throw IllegalStateException("Render failed")
+                }
+            }
+        )
+
+        override fun iterator() = pages.iterator()
+    }
+
+    /** Run [block] with a fixed pool of [threads], shutting it down afterwards. */
+    fun <T> withExecutor(threads: Int, block: (ExecutorService) -> T): T {
+        val executor = Executors.newFixedThreadPool(threads)
+        try {
+            return block(executor)
+        } finally {
+            executor.shutdown()
+        }
+    }
 }
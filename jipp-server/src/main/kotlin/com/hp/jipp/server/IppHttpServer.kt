@@ -0,0 +1,151 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.server
+
+import com.hp.jipp.encoding.IppInputStream
+import com.hp.jipp.encoding.IppOutputStream
+import com.hp.jipp.trans.IppPacketData
+import com.hp.jipp.trans.IppServerTransport
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import java.io.Closeable
+import java.io.IOException
+import java.net.InetSocketAddress
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * An HTTP server delivering IPP requests received at [path] to [transport], typically an [IppOperationDispatcher].
+ *
+ * Each request is handled on [executor]. Document data following a request packet is not buffered, but streamed to
+ * the transport as [IppPacketData.data] while it arrives. Likewise any data in the response is streamed to the client.
+ * Because each request occupies a thread of [executor] for the duration of an upload, the default executor uses
+ * virtual threads when the JDK supports them, allowing many thousands of concurrent uploads.
+ *
+ * The server starts listening on construction and stops when closed.
+ */
+class IppHttpServer @JvmOverloads constructor(
+    /** Address to listen on. A port of 0 selects any free port; see [address]. */
+    address: InetSocketAddress,
+    /** Transport handling all requests. */
+    private val transport: IppServerTransport,
+    /** Path at which requests are accepted. */
+    path: String = DEFAULT_PATH,
+    /** Executor running request handlers, or null to use [defaultExecutor]. */
+    executor: Executor? = null,
+    /** Maximum number of incoming connections to queue while waiting to be accepted. */
+    backlog: Int = DEFAULT_BACKLOG,
+    /**
+     * Called with any exception thrown while handling a request, after an error response is sent if possible, or
+     * null to rethrow it to the underlying [HttpServer].
+     */
+    private val onError: ((Throwable) -> Unit)? = null
+) : Closeable {
+    /** Executor created by this server, if any, to be shut down when closed. */
+    private val ownedExecutor: ExecutorService? = if (executor == null) defaultExecutor() else null
+
+    private val server = HttpServer.create(address, backlog).apply {
+        createContext(path) { exchange ->
+            try {
+                handle(exchange)
+            } catch (@Suppress("TooGenericExceptionCaught") e: Exception) {
+                // Report the failure if a response has not already been started
+                if (exchange.responseCode == NO_RESPONSE) {
+                    exchange.sendResponseHeaders(HTTP_INTERNAL_ERROR, NO_BODY)
+                }
+                if (onError == null) throw e
+                onError.invoke(e)
+            } finally {
+                exchange.close()
+            }
+        }
+        setExecutor(executor ?: ownedExecutor)
+        start()
+    }
+
+    /** The address this server is listening on. */
+    val address: InetSocketAddress
+        get() = server.address
+
+    private fun handle(exchange: HttpExchange) {
+        if (exchange.requestMethod != "POST") {
+            exchange.sendResponseHeaders(HTTP_BAD_METHOD, NO_BODY)
+            return
+        }
+
+        val input = IppInputStream(exchange.requestBody)
+        val request = try {
+            IppPacketData(input.readPacket(), input)
+        } catch (e: IOException) {
+            // The request packet was malformed or incomplete
+            exchange.sendResponseHeaders(HTTP_BAD_REQUEST, NO_BODY)
+            return
+        }
+
+        // Once handled, any request data not consumed by the transport is discarded
+        val response = request.use {
+            transport.handle(exchange.requestURI, it)
+        }
+
+        exchange.responseHeaders.add("Content-Type", IPP_MIME_TYPE)
+        response.use {
+            val data = it.data
+            if (data == null) {
+                // Send the packet alone with a known length
+                val bytes = IppOutputStream.toByteArray(it.packet)
+                exchange.sendResponseHeaders(HTTP_OK, bytes.size.toLong())
+                exchange.responseBody.write(bytes)
+            } else {
+                exchange.sendResponseHeaders(HTTP_OK, CHUNKED)
+                IppOutputStream(exchange.responseBody).apply {
+                    write(it.packet)
+                    data.copyTo(this)
+                    flush()
+                }
+            }
+        }
+    }
+
+    /** Stop accepting requests, waiting up to [delaySeconds] for current requests to complete. */
+    fun stop(delaySeconds: Int) {
+        server.stop(delaySeconds)
+        ownedExecutor?.shutdown()
+    }
+
+    /** Stop accepting requests immediately. */
+    override fun close() {
+        stop(0)
+    }
+
+    companion object {
+        /** Default path at which requests are accepted. */
+        const val DEFAULT_PATH = "/"
+
+        /** Default maximum number of incoming connections to queue. */
+        const val DEFAULT_BACKLOG = 1024
+
+        private const val IPP_MIME_TYPE = "application/ipp"
+        private const val HTTP_OK = 200
+        private const val HTTP_BAD_REQUEST = 400
+        private const val HTTP_BAD_METHOD = 405
+        private const val HTTP_INTERNAL_ERROR = 500
+        private const val NO_RESPONSE = -1
+        private const val NO_BODY = -1L
+        private const val CHUNKED = 0L
+
+        /**
+         * Return an executor which runs each task on a new virtual thread, if supported by the current JDK, or on a
+         * cached pool of platform threads otherwise.
+         */
+        @JvmStatic
+        fun defaultExecutor(): ExecutorService =
+            try {
+                Executors::class.java.getMethod("newVirtualThreadPerTaskExecutor").invoke(null) as ExecutorService
+            } catch (@Suppress("TooGenericExceptionCaught") e: Exception) {
+                // Not available before JDK 21 (or without preview features enabled)
+                Executors.newCachedThreadPool()
+            }
+    }
+}
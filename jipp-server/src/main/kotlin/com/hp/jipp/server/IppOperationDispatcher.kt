@@ -0,0 +1,55 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.server
+
+import com.hp.jipp.encoding.IppPacket
+import com.hp.jipp.encoding.Tag
+import com.hp.jipp.model.Operation
+import com.hp.jipp.model.Status
+import com.hp.jipp.model.Types
+import com.hp.jipp.trans.IppPacketData
+import com.hp.jipp.trans.IppServerTransport
+import java.io.IOException
+import java.net.URI
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * An [IppServerTransport] which passes each request to the handler registered for its [Operation].
+ *
+ * Requests for operations having no handler receive a [Status.serverErrorOperationNotSupported] response. Handlers
+ * may be registered or replaced at any time, including while requests are being handled.
+ */
+class IppOperationDispatcher : IppServerTransport {
+    private val handlers = ConcurrentHashMap<Int, IppServerTransport>()
+
+    /** Handle requests for [operation] with [handler]. */
+    operator fun set(operation: Operation, handler: IppServerTransport) {
+        handlers[operation.code] = handler
+    }
+
+    /** Handle requests for [operation] with [handler], returning this object. */
+    fun register(operation: Operation, handler: IppServerTransport) = apply {
+        set(operation, handler)
+    }
+
+    /** Stop handling requests for [operation]. */
+    fun unregister(operation: Operation) = apply {
+        handlers.remove(operation.code)
+    }
+
+    @Throws(IOException::class)
+    override fun handle(uri: URI, request: IppPacketData): IppPacketData =
+        handlers[request.packet.code]?.handle(uri, request) ?: IppPacketData(unsupported(request.packet))
+
+    /** Return a response to [request] indicating that its operation is not supported. */
+    private fun unsupported(request: IppPacket): IppPacket =
+        IppPacket.response(Status.serverErrorOperationNotSupported)
+            .setRequestId(request.requestId)
+            .putAttributes(
+                Tag.operationAttributes,
+                Types.attributesCharset.of(IppPacket.DEFAULT_CHARSET),
+                Types.attributesNaturalLanguage.of(IppPacket.DEFAULT_LANGUAGE)
+            )
+            .build()
+}
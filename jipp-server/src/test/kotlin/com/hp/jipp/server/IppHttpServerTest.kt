@@ -0,0 +1,173 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package com.hp.jipp.server
+
+import com.hp.jipp.encoding.IppInputStream
+import com.hp.jipp.encoding.IppOutputStream
+import com.hp.jipp.encoding.IppPacket
+import com.hp.jipp.encoding.Tag
+import com.hp.jipp.model.Operation
+import com.hp.jipp.model.Status
+import com.hp.jipp.model.Types
+import com.hp.jipp.trans.IppPacketData
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.io.InputStream
+import java.io.OutputStream
+import java.net.HttpURLConnection
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.URI
+import java.net.URL
+import java.util.concurrent.Executors
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class IppHttpServerTest {
+    private val printerUri = URI.create("ipp://localhost/printer")
+    private val dispatcher = IppOperationDispatcher()
+    private val server = IppHttpServer(InetSocketAddress(InetAddress.getLoopbackAddress(), 0), dispatcher)
+    private val url = URI.create("http://localhost:${server.address.port}/").toURL()
+
+    @After
+    fun tearDown() {
+        server.close()
+    }
+
+    @Test
+    fun dispatch() {
+        dispatcher[Operation.getPrinterAttributes] = { _, request ->
+            IppPacketData(
+                IppPacket.response(Status.successfulOk)
+                    .setRequestId(request.packet.requestId)
+                    .putAttributes(Tag.printerAttributes, Types.printerName.of("printer"))
+                    .build()
+            )
+        }
+
+        val response = post(IppPacket.getPrinterAttributes(printerUri).setRequestId(0x42).build())
+        assertEquals(Status.successfulOk, response.status)
+        assertEquals(0x42, response.requestId)
+        assertEquals("printer", response[Tag.printerAttributes]!!.getValue(Types.printerName)!!.value)
+    }
+
+    @Test
+    fun unsupported() {
+        val response = post(IppPacket.getJobs(printerUri).setRequestId(0x43).build())
+        assertEquals(Status.serverErrorOperationNotSupported, response.status)
+        assertEquals(0x43, response.requestId)
+    }
+
+    @Test
+    fun badRequest() {
+        val connection = url.openConnection() as HttpURLConnection
+        connection.requestMethod = "POST"
+        connection.doOutput = true
+        connection.outputStream.use { it.write(byteArrayOf(1, 2, 3)) }
+        assertEquals(400, connection.responseCode)
+    }
+
+    @Test
+    fun handlerFailure() {
+        // Without an error callback the exception is rethrown to HttpServer after responding
+        dispatcher[Operation.getPrinterAttributes] = { _, _ -> throw IllegalStateException("Handler failed") }
+        assertEquals(500, postStatus(url, IppPacket.getPrinterAttributes(printerUri).build()))
+    }
+
+    @Test
+    fun handlerFailureReported() {
+        val errors = LinkedBlockingQueue<Throwable>()
+        val failing = IppOperationDispatcher()
+        failing[Operation.getPrinterAttributes] = { _, _ -> throw IllegalStateException("Handler failed") }
+        IppHttpServer(
+            InetSocketAddress(InetAddress.getLoopbackAddress(), 0), failing, onError = { errors += it }
+        ).use {
+            val failingUrl = URI.create("http://localhost:${it.address.port}/").toURL()
+            assertEquals(500, postStatus(failingUrl, IppPacket.getPrinterAttributes(printerUri).build()))
+            assertEquals("Handler failed", errors.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS)?.message)
+        }
+    }
+
+    @Test
+    fun streamedUploads() {
+        // Each handler counts the document bytes streamed to it, and responds with the count
+        dispatcher.register(Operation.printJob) { _, request ->
+            val size = request.data!!.count()
+            IppPacketData(
+                IppPacket.response(Status.successfulOk)
+                    .setRequestId(request.packet.requestId)
+                    .putAttributes(Tag.jobAttributes, Types.jobId.of(size))
+                    .build()
+            )
+        }
+
+        val pool = Executors.newFixedThreadPool(UPLOADS)
+        val results = (1..UPLOADS).map { index ->
+            pool.submit<IppPacket> {
+                post(IppPacket.printJob(printerUri).setRequestId(index).build(), DOCUMENT_SIZE + index)
+            }
+        }
+        results.forEachIndexed { index, result ->
+            val response = result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            assertEquals(index + 1, response.requestId)
+            assertEquals(
+                DOCUMENT_SIZE + index + 1,
+                response[Tag.jobAttributes]!!.getValue(Types.jobId)
+            )
+        }
+        pool.shutdown()
+    }
+
+    /** Post [request] followed by [dataSize] bytes of document data, returning the response packet. */
+    private fun post(request: IppPacket, dataSize: Int = 0): IppPacket {
+        val connection = url.openConnection() as HttpURLConnection
+        connection.requestMethod = "POST"
+        connection.doOutput = true
+        connection.setChunkedStreamingMode(0)
+        connection.setRequestProperty("Content-Type", "application/ipp")
+        IppOutputStream(connection.outputStream).use {
+            it.write(request)
+            it.writeData(dataSize)
+        }
+        assertEquals(200, connection.responseCode)
+        return IppInputStream(connection.inputStream).use { it.readPacket() }
+    }
+
+    /** Post [request] to [target], returning the HTTP status code. */
+    private fun postStatus(target: URL, request: IppPacket): Int {
+        val connection = target.openConnection() as HttpURLConnection
+        connection.requestMethod = "POST"
+        connection.doOutput = true
+        IppOutputStream(connection.outputStream).use { it.write(request) }
+        return connection.responseCode
+    }
+
+    private fun OutputStream.writeData(size: Int) {
+        val chunk = ByteArray(CHUNK_SIZE) { it.toByte() }
+        var remaining = size
+        while (remaining > 0) {
+            val length = minOf(remaining, chunk.size)
+            write(chunk, 0, length)
+            remaining -= length
+        }
+    }
+
+    private fun InputStream.count(): Int {
+        val buffer = ByteArray(CHUNK_SIZE)
+        var total = 0
+        while (true) {
+            val read = read(buffer)
+            if (read == -1) return total
+            total += read
+        }
+    }
+
+    companion object {
+        private const val UPLOADS = 32
+        private const val DOCUMENT_SIZE = 1024 * 1024
+        private const val CHUNK_SIZE = 8192
+        private const val TIMEOUT_SECONDS = 30L
+    }
+}
@@ -1,14 +1,13 @@
-// © Copyright 2018 - 2022 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package sample;
 
 import com.hp.jipp.encoding.IppInputStream;
 import com.hp.jipp.encoding.IppOutputStream;
+import com.hp.jipp.encoding.IppStreamPool;
 import com.hp.jipp.trans.IppClientTransport;
 import com.hp.jipp.trans.IppPacketData;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -29,10 +28,12 @@ import org.jetbrains.annotations.NotNull;
 /**
  * A simple HTTP/HTTPS transport for IPP.
  *
- * It is assumed that the remote server will not deliver additional data (just an IPP packet).
+ * The response packet is parsed as it arrives. Any additional data following it may be read from the returned
+ * {@link IppPacketData}, which must be closed when done so that the connection can be reused.
  */
 class HttpIppClientTransport implements IppClientTransport {
     private static final String SSL_PROTOCOL = "TLSv1.2";
+    private static final IppStreamPool STREAMS = new IppStreamPool();
 
     private static final TrustManager[] TRUST_ALL_CERTS;
     private static final HostnameVerifier ALL_HOSTS_VALID;
@@ -80,28 +81,41 @@ class HttpIppClientTransport implements IppClientTransport {
         connection.setConnectTimeout(6 * 1000);
         connection.setRequestMethod("POST");
         connection.addRequestProperty("Content-type", "application/ipp");
-        connection.setChunkedStreamingMode(0);
         connection.setDoOutput(true);
 
-        // Copy IppPacket to the output stream
-        try (IppOutputStream output = new IppOutputStream(connection.getOutputStream())) {
-            output.write(request.getPacket());
-            InputStream extraData = request.getData();
-            if (extraData != null) {
-                copy(extraData, output);
-                extraData.close();
+        InputStream extraData = request.getData();
+        if (extraData == null) {
+            // The packet is the whole request, so send it with a known Content-Length
+            byte[] packetBytes = IppOutputStream.toByteArray(request.getPacket());
+            connection.setFixedLengthStreamingMode(packetBytes.length);
+            try (OutputStream output = connection.getOutputStream()) {
+                output.write(packetBytes);
+            }
+        } else {
+            // Copy IppPacket and extra data to the output stream
+            connection.setChunkedStreamingMode(0);
+            try (OutputStream connectionOutput = connection.getOutputStream()) {
+                IppOutputStream output = STREAMS.output(connectionOutput);
+                try {
+                    output.write(request.getPacket());
+                    copy(extraData, output);
+                    extraData.close();
+                    output.flush();
+                } finally {
+                    STREAMS.release(output);
+                }
             }
         }
 
-        // Read the response from the input stream
-        ByteArrayOutputStream responseBytes = new ByteArrayOutputStream();
-        try (InputStream response = connection.getInputStream()) {
-            copy(response, responseBytes);
+        // Parse the response packet directly from the connection, leaving any additional data to be read from it
+        InputStream response = connection.getInputStream();
+        try {
+            IppInputStream responseInput = new IppInputStream(response);
+            return new IppPacketData(responseInput.readPacket(), responseInput);
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
         }
-
-        // Parse it back into an IPP packet
-        IppInputStream responseInput = new IppInputStream(new ByteArrayInputStream(responseBytes.toByteArray()));
-        return new IppPacketData(responseInput.readPacket(), responseInput);
     }
 
     private void copy(InputStream data, OutputStream output) throws IOException {
@@ -1,4 +1,4 @@
-// © Copyright 2018 - 2022 HP Development Company, L.P.
+// © Copyright 2018 - 2026 HP Development Company, L.P.
 // SPDX-License-Identifier: MIT
 
 package sample;
@@ -112,8 +112,9 @@ class Main {
 
         System.out.println("\nSending " + attributeRequest.prettyPrint(100, "  "));
         IppPacketData request = new IppPacketData(attributeRequest);
-        IppPacketData response = transport.sendData(uri, request);
-        System.out.println("\nReceived: " + response.getPacket().prettyPrint(100, "  "));
+        try (IppPacketData response = transport.sendData(uri, request)) {
+            System.out.println("\nReceived: " + response.getPacket().prettyPrint(100, "  "));
+        }
     }
 
     private static void print(URI uri, CommandLine command) throws IOException, ParseException {
@@ -141,11 +142,13 @@ class Main {
 
         System.out.println("\nSending " + attributeRequest.prettyPrint(100, "  "));
         IppPacketData request = new IppPacketData(attributeRequest);
-        IppPacketData response = transport.sendData(uri, request);
-        System.out.println("\nReceived: " + response.getPacket().prettyPrint(100, "  "));
+        List<String> formats;
+        try (IppPacketData response = transport.sendData(uri, request)) {
+            System.out.println("\nReceived: " + response.getPacket().prettyPrint(100, "  "));
+            formats = response.getPacket().getStrings(printerAttributes, documentFormatSupported);
+        }
 
         // Make sure the format is supported
-        List<String> formats = response.getPacket().getStrings(printerAttributes, documentFormatSupported);
         if (!formats.contains(format)) {
             throw new ParseException(format + " format not supported by printer in " + formats);
         }
@@ -159,8 +162,9 @@ class Main {
 
         System.out.println("\nSending " + printRequest.prettyPrint(100, "  "));
         request = new IppPacketData(printRequest, new FileInputStream(inputFile));
-        response = transport.sendData(uri, request);
-        System.out.println("\nReceived: " + response.getPacket().prettyPrint(100, "  "));
+        try (IppPacketData response = transport.sendData(uri, request)) {
+            System.out.println("\nReceived: " + response.getPacket().prettyPrint(100, "  "));
+        }
     }
 
     private static void help() {
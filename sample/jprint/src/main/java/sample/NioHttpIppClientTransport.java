@@ -0,0 +1,744 @@
+// © Copyright 2026 HP Development Company, L.P.
+// SPDX-License-Identifier: MIT
+
+package sample;
+
+import com.hp.jipp.encoding.IppInputStream;
+import com.hp.jipp.encoding.IppOutputStream;
+import com.hp.jipp.trans.AsyncIppClientTransport;
+import com.hp.jipp.trans.IppClientTransport;
+import com.hp.jipp.trans.IppPacketData;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An HTTP transport for IPP which performs all network I/O on a single thread using non-blocking channels, so that
+ * requests to many printers can be outstanding at once without a blocked thread for each.
+ *
+ * Connections to each printer are kept alive and reused. Up to {@link #MAX_CONNECTIONS_PER_HOST} connections are
+ * opened to each printer. Because every IPP request is a non-idempotent POST, only operations which merely read
+ * state (Get-*) are pipelined, up to {@link #MAX_PIPELINED} per connection, and other operations are sent only on an
+ * otherwise idle connection. If a kept-alive connection closes, requests queued behind others on it are retried once
+ * on a new connection, but only if none of their bytes were written.
+ *
+ * Requests fail with a {@link SocketTimeoutException} if a connection is not established within the connect timeout,
+ * or if a connection awaiting a response receives nothing within the response timeout.
+ *
+ * Only plain HTTP (ipp: and http: URIs) is supported. Any additional request data is read into memory by the
+ * calling thread before the request is sent. Host names are resolved, responses parsed and futures completed on the
+ * supplied executor.
+ */
+class NioHttpIppClientTransport implements AsyncIppClientTransport, IppClientTransport, Closeable {
+    static final int MAX_CONNECTIONS_PER_HOST = 2;
+    static final int MAX_PIPELINED = 4;
+    private static final int IPP_PORT = 631;
+    private static final int HTTP_PORT = 80;
+    private static final int HTTP_OK = 200;
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    /** Largest response body accepted, leaving room for a line end within the largest possible array. */
+    private static final int MAX_BODY_LENGTH = Integer.MAX_VALUE - 16;
+    private static final long IDLE_TIMEOUT_MS = 30 * 1000;
+    private static final long TIMEOUT_CHECK_MS = 1000;
+    static final long DEFAULT_CONNECT_TIMEOUT_MS = 6 * 1000;
+    static final long DEFAULT_RESPONSE_TIMEOUT_MS = 60 * 1000;
+    private static final byte[] HEADER_END = { '\r', '\n', '\r', '\n' };
+    private static final byte[] LINE_END = { '\r', '\n' };
+
+    private final Executor executor;
+    private final long connectTimeoutMs;
+    private final long responseTimeoutMs;
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean open = true;
+
+    // The following are only accessed from the selector thread
+    private final Map<InetSocketAddress, Host> hosts = new HashMap<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private long lastTimeoutCheck = 0;
+
+    /** Construct a transport which parses responses and completes futures on {@link ForkJoinPool#commonPool()}. */
+    NioHttpIppClientTransport() throws IOException {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /** Construct a transport which resolves hosts, parses responses and completes futures on {@code executor}. */
+    NioHttpIppClientTransport(Executor executor) throws IOException {
+        this(executor, DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_RESPONSE_TIMEOUT_MS);
+    }
+
+    /**
+     * Construct a transport which resolves hosts, parses responses and completes futures on {@code executor}, and
+     * which fails requests if a connection takes longer than {@code connectTimeoutMs} to establish, or if nothing is
+     * received for {@code responseTimeoutMs} while awaiting a response.
+     */
+    NioHttpIppClientTransport(Executor executor, long connectTimeoutMs, long responseTimeoutMs) throws IOException {
+        this.executor = executor;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.responseTimeoutMs = responseTimeoutMs;
+        selector = Selector.open();
+        thread = new Thread(this::run, "NioHttpIppClientTransport");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<IppPacketData> sendDataAsync(@NotNull URI uri, @NotNull IppPacketData request) {
+        CompletableFuture<IppPacketData> future = new CompletableFuture<>();
+        try {
+            InetSocketAddress unresolved = address(uri);
+            ByteBuffer bytes = encode(uri, request);
+            boolean idempotent = request.getPacket().getOperation().getName().startsWith("Get-");
+            // Resolve the host off the calling thread, as lookups may block
+            executor.execute(() -> {
+                try {
+                    InetSocketAddress address = new InetSocketAddress(unresolved.getHostString(), unresolved.getPort());
+                    if (address.isUnresolved()) {
+                        throw new IOException("Cannot resolve " + unresolved.getHostString());
+                    }
+                    Exchange exchange = new Exchange(address, bytes, idempotent, future);
+                    submit(() -> enqueue(exchange));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    @NotNull
+    public IppPacketData sendData(@NotNull URI uri, @NotNull IppPacketData request) throws IOException {
+        CompletableFuture<IppPacketData> future = sendDataAsync(uri, request);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for response");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /** Close all connections, failing any outstanding requests. */
+    @Override
+    public void close() {
+        open = false;
+        selector.wakeup();
+    }
+
+    /** Return the unresolved address of the host named by {@code uri}. */
+    private static InetSocketAddress address(URI uri) throws IOException {
+        String scheme = uri.getScheme();
+        int defaultPort;
+        if ("ipp".equalsIgnoreCase(scheme)) {
+            defaultPort = IPP_PORT;
+        } else if ("http".equalsIgnoreCase(scheme)) {
+            defaultPort = HTTP_PORT;
+        } else {
+            throw new IOException("Unsupported scheme in " + uri);
+        }
+        if (uri.getHost() == null) throw new IOException("No host in " + uri);
+        return InetSocketAddress.createUnresolved(uri.getHost(), uri.getPort() == -1 ? defaultPort : uri.getPort());
+    }
+
+    /** Return the complete HTTP request for {@code request}. */
+    private static ByteBuffer encode(URI uri, IppPacketData request) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        IppOutputStream output = new IppOutputStream(body);
+        output.write(request.getPacket());
+        InputStream data = request.getData();
+        if (data != null) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int readAmount = data.read(buffer);
+            while (readAmount != -1) {
+                body.write(buffer, 0, readAmount);
+                readAmount = data.read(buffer);
+            }
+            data.close();
+        }
+
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            path = path + "?" + uri.getRawQuery();
+        }
+        String host = uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+        byte[] header = ("POST " + path + " HTTP/1.1\r\n" +
+                "Host: " + host + "\r\n" +
+                "Content-Type: application/ipp\r\n" +
+                "Content-Length: " + body.size() + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+
+        ByteBuffer bytes = ByteBuffer.allocate(header.length + body.size());
+        bytes.put(header).put(body.toByteArray());
+        bytes.flip();
+        return bytes;
+    }
+
+    /** Run {@code task} on the selector thread. */
+    private void submit(Runnable task) throws IOException {
+        if (!open) throw new IOException("Transport closed");
+        tasks.add(task);
+        selector.wakeup();
+        if (!open) {
+            // The selector thread may have already stopped, so run (and fail) any remaining tasks here
+            runTasks();
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void run() {
+        try {
+            while (open) {
+                selector.select(TIMEOUT_CHECK_MS);
+                runTasks();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isValid() && key.isConnectable()) connection.finishConnect();
+                        if (key.isValid() && key.isWritable()) connection.write();
+                        if (key.isValid() && key.isReadable()) connection.read();
+                    } catch (IOException e) {
+                        connection.close(e);
+                    } catch (RuntimeException e) {
+                        // Fail only this connection, keeping the selector thread alive for others
+                        connection.fail(new IOException("Failed to process response", e));
+                    }
+                }
+                checkTimeouts();
+            }
+        } catch (IOException e) {
+            // Fall through to fail everything outstanding
+        } finally {
+            // Fail any later requests immediately rather than queueing them for a stopped thread
+            open = false;
+            IOException closed = new IOException("Transport closed");
+            for (Host host : new ArrayList<>(hosts.values())) {
+                host.close(closed);
+            }
+            runTasks();
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void enqueue(Exchange exchange) {
+        if (!open) {
+            exchange.future.completeExceptionally(new IOException("Transport closed"));
+            return;
+        }
+        Host host = hosts.get(exchange.address);
+        if (host == null) {
+            host = new Host(exchange.address);
+            hosts.put(exchange.address, host);
+        }
+        host.waiting.add(exchange);
+        host.dispatch();
+    }
+
+    /** Close idle connections, and fail connections which are taking too long to connect or respond. */
+    private void checkTimeouts() {
+        long now = System.currentTimeMillis();
+        if (now - lastTimeoutCheck < TIMEOUT_CHECK_MS) return;
+        lastTimeoutCheck = now;
+        for (Host host : new ArrayList<>(hosts.values())) {
+            for (Connection connection : new ArrayList<>(host.connections)) {
+                long inactive = now - connection.lastActive;
+                if (!connection.connected) {
+                    if (inactive > connectTimeoutMs) {
+                        connection.fail(new SocketTimeoutException("Timed out connecting to " + host.address));
+                    }
+                } else if (connection.inFlight.isEmpty()) {
+                    if (inactive > IDLE_TIMEOUT_MS) connection.close(null);
+                } else if (inactive > responseTimeoutMs) {
+                    connection.fail(new SocketTimeoutException("Timed out awaiting response from " + host.address));
+                }
+            }
+        }
+    }
+
+    /** Parse {@code body} into a response and complete {@code exchange} with it, off the selector thread. */
+    private void complete(Exchange exchange, int status, byte[] body) {
+        executor.execute(() -> {
+            if (status != HTTP_OK) {
+                exchange.future.completeExceptionally(new IOException("HTTP status " + status));
+                return;
+            }
+            try {
+                IppInputStream input = new IppInputStream(new ByteArrayInputStream(body));
+                exchange.future.complete(new IppPacketData(input.readPacket(), input));
+            } catch (IOException | RuntimeException e) {
+                exchange.future.completeExceptionally(e);
+            }
+        });
+    }
+
+    /** A request and the future awaiting its response. */
+    private static final class Exchange {
+        final InetSocketAddress address;
+        final ByteBuffer request;
+        /** True if the request only reads state, so may be pipelined. */
+        final boolean idempotent;
+        final CompletableFuture<IppPacketData> future;
+        /** Bytes of the request remaining to be written on its current connection, if sent. */
+        ByteBuffer remaining;
+        boolean retried = false;
+
+        Exchange(InetSocketAddress address, ByteBuffer request, boolean idempotent,
+                CompletableFuture<IppPacketData> future) {
+            this.address = address;
+            this.request = request;
+            this.idempotent = idempotent;
+            this.future = future;
+        }
+
+        /** Return true if any part of the request has been written to a connection. */
+        boolean written() {
+            return remaining != null && remaining.position() > 0;
+        }
+    }
+
+    /** Connections and queued requests for a single printer. */
+    private final class Host {
+        final InetSocketAddress address;
+        final Queue<Exchange> waiting = new ArrayDeque<>();
+        final List<Connection> connections = new ArrayList<>();
+
+        Host(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        /** Move waiting requests onto connections, opening new connections as needed and permitted. */
+        void dispatch() {
+            while (!waiting.isEmpty()) {
+                Exchange exchange = waiting.peek();
+                if (exchange.future.isDone()) {
+                    // Cancelled before it was sent
+                    waiting.remove();
+                    continue;
+                }
+                Connection connection = leastBusy(exchange);
+                if ((connection == null || !connection.inFlight.isEmpty()) &&
+                        connections.size() < MAX_CONNECTIONS_PER_HOST) {
+                    try {
+                        connection = new Connection(this);
+                    } catch (IOException e) {
+                        waiting.remove();
+                        exchange.future.completeExceptionally(e);
+                        continue;
+                    }
+                    connections.add(connection);
+                }
+                if (connection == null) return;
+                waiting.remove();
+                connection.send(exchange);
+            }
+        }
+
+        /** Return the connection able to accept {@code exchange} with the fewest requests in flight, if any. */
+        private Connection leastBusy(Exchange exchange) {
+            Connection least = null;
+            for (Connection connection : connections) {
+                if (!connection.accepts(exchange)) continue;
+                if (least == null || connection.inFlight.size() < least.inFlight.size()) {
+                    least = connection;
+                }
+            }
+            return least;
+        }
+
+        /**
+         * Called when {@code connection} closes, with any requests it did not answer. Requests which were never
+         * written are retried if {@code retry} is true, and all others are failed with {@code cause}.
+         */
+        void closed(Connection connection, List<Exchange> unanswered, IOException cause, boolean retry) {
+            connections.remove(connection);
+            for (Exchange exchange : unanswered) {
+                // The printer may have acted on any request it received, so never send it again
+                if (retry && !exchange.written() && !exchange.retried && open) {
+                    exchange.retried = true;
+                    waiting.add(exchange);
+                } else {
+                    exchange.future.completeExceptionally(cause);
+                }
+            }
+            if (connections.isEmpty() && waiting.isEmpty()) {
+                hosts.remove(address);
+            } else if (open) {
+                dispatch();
+            }
+        }
+
+        void close(IOException cause) {
+            for (Connection connection : new ArrayList<>(connections)) {
+                connection.close(cause);
+            }
+            for (Exchange exchange : waiting) {
+                exchange.future.completeExceptionally(cause);
+            }
+            waiting.clear();
+            hosts.remove(address);
+        }
+    }
+
+    /** A single keep-alive connection to a printer. */
+    private final class Connection {
+        final Host host;
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ArrayDeque<Exchange> inFlight = new ArrayDeque<>();
+        final ArrayDeque<ByteBuffer> writes = new ArrayDeque<>();
+        final ResponseParser parser = new ResponseParser();
+        /** Time of the last connection attempt, write, or read. */
+        long lastActive = System.currentTimeMillis();
+        boolean connected = false;
+        boolean closing = false;
+        boolean closed = false;
+
+        Connection(Host host) throws IOException {
+            this.host = host;
+            channel = SocketChannel.open();
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                connected = channel.connect(host.address);
+                key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Return true if {@code exchange} may be sent now. Requests which change state are sent only on an idle
+         * connection, and nothing is pipelined behind them.
+         */
+        boolean accepts(Exchange exchange) {
+            if (closing) return false;
+            if (inFlight.isEmpty()) return true;
+            return exchange.idempotent && inFlight.peekLast().idempotent && inFlight.size() < MAX_PIPELINED;
+        }
+
+        void send(Exchange exchange) {
+            // The response timeout begins now, rather than when this connection was last active
+            if (connected && inFlight.isEmpty()) lastActive = System.currentTimeMillis();
+            inFlight.add(exchange);
+            exchange.remaining = exchange.request.duplicate();
+            writes.add(exchange.remaining);
+            if (connected) key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+
+        void finishConnect() throws IOException {
+            channel.finishConnect();
+            connected = true;
+            lastActive = System.currentTimeMillis();
+            key.interestOps(SelectionKey.OP_READ | (writes.isEmpty() ? 0 : SelectionKey.OP_WRITE));
+        }
+
+        void write() throws IOException {
+            while (!writes.isEmpty()) {
+                ByteBuffer buffer = writes.peek();
+                if (channel.write(buffer) > 0) lastActive = System.currentTimeMillis();
+                if (buffer.hasRemaining()) return;
+                writes.remove();
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        }
+
+        void read() throws IOException {
+            readBuffer.clear();
+            int readAmount = channel.read(readBuffer);
+            if (readAmount == -1) {
+                Response response = parser.finish();
+                if (response != null) respond(response);
+                close(new IOException("Connection closed by " + host.address));
+                return;
+            }
+            lastActive = System.currentTimeMillis();
+            parser.add(readBuffer.array(), readAmount);
+            Response response;
+            while ((response = parser.next()) != null) {
+                respond(response);
+                if (closing) {
+                    close(new IOException("Connection closed by " + host.address));
+                    return;
+                }
+            }
+        }
+
+        private void respond(Response response) throws IOException {
+            Exchange exchange = inFlight.poll();
+            if (exchange == null) throw new IOException("Unexpected response from " + host.address);
+            if (response.close) closing = true;
+            complete(exchange, response.status, response.body);
+            if (!closing) host.dispatch();
+        }
+
+        /** Close this connection, retrying any unanswered requests which can be, or failing them with {@code cause}. */
+        void close(IOException cause) {
+            close(cause, connected);
+        }
+
+        /** Close this connection, failing all unanswered requests with {@code cause}. */
+        void fail(IOException cause) {
+            close(cause, false);
+        }
+
+        private void close(IOException cause, boolean retry) {
+            // Note: the channel may already have been closed by a failure
+            if (closed) return;
+            closed = true;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            List<Exchange> unanswered = new ArrayList<>(inFlight);
+            inFlight.clear();
+            host.closed(this, unanswered, cause, retry);
+        }
+    }
+
+    /** A complete HTTP response. */
+    private static final class Response {
+        final int status;
+        final boolean close;
+        final byte[] body;
+
+        Response(int status, boolean close, byte[] body) {
+            this.status = status;
+            this.close = close;
+            this.body = body;
+        }
+    }
+
+    /** Headers of a response. */
+    private static final class Head {
+        final int status;
+        final boolean close;
+        /** Length of the body, or -1 if not known. */
+        final long contentLength;
+        final boolean chunked;
+
+        Head(int status, boolean close, long contentLength, boolean chunked) {
+            this.status = status;
+            this.close = close;
+            this.contentLength = contentLength;
+            this.chunked = chunked;
+        }
+    }
+
+    /**
+     * Accumulates received bytes and extracts complete HTTP responses from them. Progress through the current
+     * response is kept between calls, and data is discarded once parsed, so that each byte is examined only once.
+     */
+    private static final class ResponseParser {
+        private byte[] data = new byte[READ_BUFFER_SIZE];
+        private int length = 0;
+        /** Position in {@link #data} from which to continue searching for the end of the headers. */
+        private int headerSearch = 0;
+        /** Headers of the response being received, or null if not yet received. */
+        private Head head = null;
+        /** Chunks of the body received so far, if chunked. */
+        private ByteArrayOutputStream chunks = null;
+        /** Size of the chunk being received, or -1 if its size line has not yet been received. */
+        private int chunkSize = -1;
+        /** True when all chunks have been received, leaving any trailers. */
+        private boolean trailers = false;
+
+        void add(byte[] bytes, int count) {
+            if (length + count > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + count));
+            }
+            System.arraycopy(bytes, 0, data, length, count);
+            length += count;
+        }
+
+        /** Return the next complete response, if any, removing it from received data. */
+        Response next() throws IOException {
+            while (head == null) {
+                int headerEnd = indexOf(HEADER_END, headerSearch);
+                if (headerEnd == -1) {
+                    // Resume where a partially-received delimiter might begin
+                    headerSearch = Math.max(0, length - HEADER_END.length + 1);
+                    return null;
+                }
+                Head parsed = parseHead(new String(data, 0, headerEnd, StandardCharsets.ISO_8859_1));
+                consume(headerEnd + HEADER_END.length);
+                headerSearch = 0;
+                // Skip interim responses such as 100 Continue
+                if (parsed.status / 100 != 1) {
+                    head = parsed;
+                    if (head.chunked) chunks = new ByteArrayOutputStream();
+                }
+            }
+
+            if (head.chunked) {
+                return nextChunked();
+            } else if (head.contentLength >= 0) {
+                if (length < head.contentLength) return null;
+                byte[] body = Arrays.copyOf(data, (int) head.contentLength);
+                consume((int) head.contentLength);
+                return complete(body);
+            } else {
+                // Body extends to the end of the connection
+                return null;
+            }
+        }
+
+        private static Head parseHead(String headers) throws IOException {
+            String[] lines = headers.split("\r\n");
+            String[] statusLine = lines[0].split(" ", 3);
+            if (statusLine.length < 2 || !statusLine[0].startsWith("HTTP/1.")) {
+                throw new IOException("Bad status line " + lines[0]);
+            }
+            int status;
+            try {
+                status = Integer.parseInt(statusLine[1]);
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad status line " + lines[0]);
+            }
+            boolean close = statusLine[0].equals("HTTP/1.0");
+            long contentLength = -1;
+            boolean chunked = false;
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon == -1) continue;
+                String name = lines[i].substring(0, colon).trim();
+                String value = lines[i].substring(colon + 1).trim();
+                if (name.equalsIgnoreCase("Content-Length")) {
+                    contentLength = parseContentLength(value);
+                } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+                    chunked = value.toLowerCase().contains("chunked");
+                } else if (name.equalsIgnoreCase("Connection")) {
+                    close = value.equalsIgnoreCase("close");
+                }
+            }
+            return new Head(status, close, contentLength, chunked);
+        }
+
+        /** Return a valid Content-Length {@code value}, which must also fit in an array. */
+        private static long parseContentLength(String value) throws IOException {
+            long contentLength;
+            try {
+                contentLength = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad Content-Length " + value);
+            }
+            if (contentLength < 0 || contentLength > MAX_BODY_LENGTH) {
+                throw new IOException("Bad Content-Length " + value);
+            }
+            return contentLength;
+        }
+
+        /** Move each complete chunk from received data into the body, returning the response once complete. */
+        private Response nextChunked() throws IOException {
+            while (true) {
+                if (trailers) {
+                    // Skip any trailers up to the final empty line
+                    int lineEnd = indexOf(LINE_END, 0);
+                    if (lineEnd == -1) return null;
+                    consume(lineEnd + LINE_END.length);
+                    if (lineEnd == 0) return complete(chunks.toByteArray());
+                } else if (chunkSize == -1) {
+                    int lineEnd = indexOf(LINE_END, 0);
+                    if (lineEnd == -1) return null;
+                    String sizeLine = new String(data, 0, lineEnd, StandardCharsets.ISO_8859_1);
+                    int extension = sizeLine.indexOf(';');
+                    try {
+                        chunkSize = Integer.parseInt(
+                                (extension == -1 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Bad chunk size " + sizeLine);
+                    }
+                    if (chunkSize < 0 || chunkSize > MAX_BODY_LENGTH - chunks.size()) {
+                        throw new IOException("Bad chunk size " + sizeLine);
+                    }
+                    consume(lineEnd + LINE_END.length);
+                    if (chunkSize == 0) {
+                        chunkSize = -1;
+                        trailers = true;
+                    }
+                } else {
+                    if (length < chunkSize + LINE_END.length) return null;
+                    chunks.write(data, 0, chunkSize);
+                    consume(chunkSize + LINE_END.length);
+                    chunkSize = -1;
+                }
+            }
+        }
+
+        /** Return the response having the current headers and {@code body}, and prepare for the next. */
+        private Response complete(byte[] body) {
+            Response response = new Response(head.status, head.close, body);
+            head = null;
+            chunks = null;
+            trailers = false;
+            return response;
+        }
+
+        /** Return the response whose body extends to the end of the connection, if any. */
+        Response finish() {
+            if (head == null || head.chunked || head.contentLength >= 0) return null;
+            return complete(Arrays.copyOf(data, length));
+        }
+
+        private int indexOf(byte[] target, int from) {
+            for (int i = from; i <= length - target.length; i++) {
+                int match = 0;
+                while (match < target.length && data[i + match] == target[match]) match++;
+                if (match == target.length) return i;
+            }
+            return -1;
+        }
+
+        private void consume(int count) {
+            System.arraycopy(data, count, data, 0, length - count);
+            length -= count;
+        }
+    }
+}